@@ -1,9 +1,15 @@
 package com.ycompany.gateway;
 
+import com.ycompany.common.loadbalancer.LeastLoadedLoadBalancerConfiguration;
+import com.ycompany.common.tracing.TracingConfiguration;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Import;
 
 @SpringBootApplication
+@LoadBalancerClients(defaultConfiguration = LeastLoadedLoadBalancerConfiguration.class)
+@Import(TracingConfiguration.class)
 public class ApiGatewayApplication {
     public static void main(String[] args) {
         SpringApplication.run(ApiGatewayApplication.class, args);
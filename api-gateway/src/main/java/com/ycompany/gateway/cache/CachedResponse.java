@@ -0,0 +1,179 @@
+package com.ycompany.gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A stored upstream GET response. Freshness follows the response's
+ * Cache-Control: {@code max-age}/{@code s-maxage} make it servable without
+ * contacting the upstream for that long, {@code no-cache} (or an expired
+ * max-age) means it is only served after the upstream confirms its ETag.
+ */
+public class CachedResponse {
+
+    // Hop-by-hop and per-message headers that must not be replayed
+    private static final List<String> UNSTORED_HEADERS = List.of(
+            HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.DATE, "Keep-Alive");
+
+    private final HttpStatusCode status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final String tag;
+    private final long freshUntil;
+
+    private CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String tag, long freshUntil) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+        this.tag = tag;
+        this.freshUntil = freshUntil;
+    }
+
+    /**
+     * Builds an entry from a 200 response, or returns null if its headers do
+     * not allow a shared cache to store it. Responses without Cache-Control
+     * are not stored, since some GETs (e.g. policy number generation) are not
+     * safe to replay.
+     */
+    public static CachedResponse of(HttpStatusCode status, HttpHeaders responseHeaders, byte[] body,
+                                    String tag, long now) {
+        if (!isStorable(responseHeaders)) {
+            return null;
+        }
+        long maxAge = maxAge(responseHeaders);
+        HttpHeaders headers = new HttpHeaders();
+        responseHeaders.forEach((name, values) -> {
+            if (UNSTORED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.put(name, List.copyOf(values));
+            }
+        });
+        headers.setContentLength(body.length);
+        return new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), body, tag,
+                now + maxAge * 1000);
+    }
+
+    /**
+     * Checks the headers alone, so a body that could never be stored is not
+     * copied while it streams through.
+     */
+    public static boolean isStorable(HttpHeaders responseHeaders) {
+        if (responseHeaders.containsKey(HttpHeaders.CONTENT_ENCODING)
+                || responseHeaders.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        Long maxAge = maxAge(responseHeaders);
+        // Nothing to serve it from if it is stale on arrival and cannot be revalidated
+        return maxAge != null && (maxAge > 0 || responseHeaders.getETag() != null);
+    }
+
+    /**
+     * The same body after the upstream answered a revalidation with 304,
+     * taking over the validators and Cache-Control it sent.
+     */
+    public CachedResponse revalidated(HttpHeaders notModifiedHeaders, long now) {
+        HttpHeaders merged = new HttpHeaders();
+        merged.putAll(headers);
+        for (String name : List.of(HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL,
+                HttpHeaders.EXPIRES, HttpHeaders.VARY)) {
+            List<String> values = notModifiedHeaders.get(name);
+            if (values != null) {
+                merged.put(name, List.copyOf(values));
+            }
+        }
+        Long maxAge = maxAge(merged);
+        return new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(merged), body, tag,
+                now + Math.max(maxAge == null ? 0 : maxAge, 0) * 1000);
+    }
+
+    /**
+     * Seconds the response may be served without revalidation (0 for
+     * no-cache), or null if it must not be stored at all.
+     */
+    private static Long maxAge(HttpHeaders headers) {
+        List<String> cacheControl = headers.get(HttpHeaders.CACHE_CONTROL);
+        if (cacheControl == null || cacheControl.isEmpty()) {
+            return null;
+        }
+        Long maxAge = null;
+        Long sharedMaxAge = null;
+        boolean noCache = false;
+        for (String value : cacheControl) {
+            for (String directive : value.split(",")) {
+                String d = directive.trim().toLowerCase(Locale.ROOT);
+                if (d.equals("no-store") || d.equals("private")) {
+                    return null;
+                } else if (d.equals("no-cache")) {
+                    noCache = true;
+                } else if (d.startsWith("s-maxage=")) {
+                    sharedMaxAge = seconds(d.substring("s-maxage=".length()));
+                } else if (d.startsWith("max-age=")) {
+                    maxAge = seconds(d.substring("max-age=".length()));
+                }
+            }
+        }
+        if (noCache) {
+            return 0L;
+        }
+        if (sharedMaxAge != null) {
+            return sharedMaxAge;
+        }
+        return maxAge;
+    }
+
+    private static Long seconds(String value) {
+        try {
+            return Math.max(Long.parseLong(value.replace("\"", "")), 0);
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    public boolean isFresh(long now) {
+        return now < freshUntil;
+    }
+
+    /**
+     * True if any of the client's If-None-Match values matches this entry
+     * (weak comparison, as RFC 9110 requires for If-None-Match).
+     */
+    public boolean matches(List<String> ifNoneMatch) {
+        String eTag = getETag();
+        if (eTag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch) {
+            if (candidate.equals("*") || weak(candidate).equals(weak(eTag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String weak(String eTag) {
+        return eTag.startsWith("W/") ? eTag.substring(2) : eTag;
+    }
+
+    public String getETag() {
+        return headers.getETag();
+    }
+
+    public HttpStatusCode getStatus() {
+        return status;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
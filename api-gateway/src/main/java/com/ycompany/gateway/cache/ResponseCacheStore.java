@@ -0,0 +1,156 @@
+package com.ycompany.gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bounded in-memory store behind the ResponseCache gateway filter, plus the
+ * single-flight registry that lets one upstream call serve every concurrent
+ * miss for the same key.
+ *
+ * Entries are tagged with the claim id in their path (if any), the numeric
+ * segment right after /claims/. A write that
+ * names a claim purges that claim's entries and all untagged (list) entries;
+ * a write that names none purges everything.
+ */
+@Component
+public class ResponseCacheStore {
+
+    private static final Pattern ID_SEGMENT = Pattern.compile("/claims/(\\d+)(?=/|$)");
+
+    private final Cache<String, CachedResponse> cache;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+    // Bumped by every purge; a load that started before a purge is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter revalidated;
+    private final Counter collapsed;
+    private final Counter misses;
+    private final Counter bypassed;
+
+    public ResponseCacheStore(@Value("${gateway.response-cache.max-bytes:67108864}") long maxBytes,
+                              @Value("${gateway.response-cache.ttl:10m}") Duration ttl,
+                              MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String key, CachedResponse entry) -> key.length() * 2 + entry.getBody().length)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, "gateway-response");
+
+        this.hits = result(registry, "hit");
+        this.revalidated = result(registry, "revalidated");
+        this.collapsed = result(registry, "collapsed");
+        this.misses = result(registry, "miss");
+        this.bypassed = result(registry, "bypass");
+        Gauge.builder("gateway.response.cache.hit.ratio", this, ResponseCacheStore::hitRatio)
+                .description("Share of cacheable GETs answered without a full upstream response")
+                .register(registry);
+    }
+
+    private static Counter result(MeterRegistry registry, String result) {
+        return Counter.builder("gateway.response.cache.requests")
+                .description("GET requests seen by the response cache, by outcome")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private double hitRatio() {
+        double served = hits.count() + revalidated.count() + collapsed.count();
+        double total = served + misses.count();
+        return total == 0 ? 0 : served / total;
+    }
+
+    public CachedResponse get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Registers {@code flight} as the load for {@code key} and returns null if
+     * the caller leads it, or returns the flight already running for the key.
+     */
+    public Sinks.One<CachedResponse> joinFlight(String key, Sinks.One<CachedResponse> flight) {
+        return inFlight.putIfAbsent(key, flight);
+    }
+
+    /**
+     * Ends a flight, storing {@code entry} unless a purge happened since
+     * {@code startGeneration}, and hands the result (or nothing, when the
+     * response was not cacheable) to the waiting followers.
+     */
+    public void completeFlight(String key, Sinks.One<CachedResponse> flight, CachedResponse entry,
+                               long startGeneration) {
+        if (entry != null && generation.get() == startGeneration) {
+            cache.put(key, entry);
+        }
+        inFlight.remove(key, flight);
+        if (entry != null) {
+            flight.tryEmitValue(entry);
+        } else {
+            flight.tryEmitEmpty();
+        }
+    }
+
+    public void evict(String key) {
+        cache.invalidate(key);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public void purge(String tag) {
+        generation.incrementAndGet();
+        if (tag == null) {
+            cache.invalidateAll();
+        } else {
+            cache.asMap().values().removeIf(entry -> entry.getTag() == null || entry.getTag().equals(tag));
+        }
+    }
+
+    /**
+     * The claim id a path refers to, e.g. {@code /api/claims/42/comments} or
+     * {@code /api/workflow/claims/42/assign}; null for collection paths such
+     * as {@code /api/claims/customer/12345}.
+     */
+    public static String tagOf(String path) {
+        Matcher matcher = ID_SEGMENT.matcher(path);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordRevalidated() {
+        revalidated.increment();
+    }
+
+    public void recordCollapsed() {
+        collapsed.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordBypass() {
+        bypassed.increment();
+    }
+}
@@ -0,0 +1,93 @@
+package com.ycompany.gateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps the number of requests a route has in flight to its upstream. Once
+ * the cap is reached further requests are rejected at once with 503 rather
+ * than queued, so an overloaded upstream cannot pile up waiting requests in
+ * the gateway. A permit is held until the response body has been written to
+ * the client or the call is cancelled, so a slow download keeps its permit.
+ *
+ * Usage in a route:
+ * <pre>
+ * - name: Bulkhead
+ *   args:
+ *     max-concurrent-calls: 100
+ * </pre>
+ */
+@Component
+public class BulkheadGatewayFilterFactory extends AbstractGatewayFilterFactory<BulkheadGatewayFilterFactory.Config> {
+
+    @Autowired
+    private MeterRegistry registry;
+
+    public BulkheadGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxConcurrentCalls");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId() == null ? "unknown" : config.getRouteId();
+        Semaphore permits = new Semaphore(config.getMaxConcurrentCalls());
+        Counter rejected = Counter.builder("gateway.bulkhead.rejected")
+                .description("Requests rejected with 503 because the route's bulkhead was full")
+                .tag("route", routeId)
+                .register(registry);
+        Gauge.builder("gateway.bulkhead.active", permits,
+                        p -> config.getMaxConcurrentCalls() - p.availablePermits())
+                .description("Requests currently holding a bulkhead permit")
+                .tag("route", routeId)
+                .register(registry);
+
+        return (exchange, chain) -> {
+            if (!permits.tryAcquire()) {
+                rejected.increment();
+                exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+                exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, "1");
+                return exchange.getResponse().setComplete();
+            }
+            return chain.filter(exchange).doFinally(signal -> permits.release());
+        };
+    }
+
+    public static class Config implements HasRouteId {
+        private int maxConcurrentCalls = 100;
+        private String routeId;
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
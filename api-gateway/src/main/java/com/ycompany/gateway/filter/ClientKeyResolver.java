@@ -0,0 +1,60 @@
+package com.ycompany.gateway.filter;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.Principal;
+import java.util.HexFormat;
+
+/**
+ * Identifies the calling client for rate limiting: the authenticated
+ * principal if there is one, otherwise a hash of the Authorization header,
+ * otherwise the remote address.
+ */
+@Component
+public class ClientKeyResolver implements KeyResolver {
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        return exchange.getPrincipal()
+                .map(principal -> "user:" + principal.getName())
+                .switchIfEmpty(Mono.fromSupplier(() -> {
+                    String credentials = credentialKey(request);
+                    if (credentials != null) {
+                        return credentials;
+                    }
+                    InetSocketAddress remote = request.getRemoteAddress();
+                    if (remote == null) {
+                        return "unknown";
+                    }
+                    // An unresolved address has no InetAddress, only the host it was given
+                    return "ip:" + (remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString());
+                }));
+    }
+
+    /**
+     * A stable, non-reversible key for the request's Authorization header,
+     * or null if it has none.
+     */
+    static String credentialKey(ServerHttpRequest request) {
+        String authorization = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authorization == null) {
+            return null;
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(authorization.getBytes(StandardCharsets.UTF_8));
+            return "auth:" + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
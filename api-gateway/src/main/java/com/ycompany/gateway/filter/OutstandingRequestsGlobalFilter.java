@@ -0,0 +1,48 @@
+package com.ycompany.gateway.filter;
+
+import com.ycompany.common.loadbalancer.InstanceLoadStats;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+
+/**
+ * Counts each lb:// request as in flight to the replica the load balancer
+ * picked until its response is written, it fails or the client goes away.
+ * Runs right after the load balancer filter. Server-Sent Event streams
+ * (/api/claims/events) stay open for minutes and are not counted, so an open
+ * UI does not look like load.
+ */
+@Component
+public class OutstandingRequestsGlobalFilter implements GlobalFilter, Ordered {
+
+    @Autowired
+    private LoadBalancerClientFactory clientFactory;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> lbResponse = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (lbResponse == null || !lbResponse.hasServer()
+                || exchange.getRequest().getHeaders().getAccept().contains(MediaType.TEXT_EVENT_STREAM)) {
+            return chain.filter(exchange);
+        }
+        ServiceInstance instance = lbResponse.getServer();
+        InstanceLoadStats stats = clientFactory.getInstance(instance.getServiceId(), InstanceLoadStats.class);
+        return stats == null ? chain.filter(exchange) : stats.track(instance, chain.filter(exchange));
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
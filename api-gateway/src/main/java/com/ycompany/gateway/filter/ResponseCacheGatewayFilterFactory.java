@@ -0,0 +1,240 @@
+package com.ycompany.gateway.filter;
+
+import com.ycompany.gateway.cache.CachedResponse;
+import com.ycompany.gateway.cache.ResponseCacheStore;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.security.Principal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Caches GET responses of the route in {@link ResponseCacheStore}, keyed by
+ * principal, origin, path and query.
+ *
+ * Fresh entries are answered locally. Entries marked no-cache (or past their
+ * max-age) are revalidated upstream with If-None-Match, and a 304 is answered
+ * from the stored body. Concurrent requests for a key being loaded wait for
+ * that one upstream call instead of issuing their own. Any other method on
+ * the route purges the affected entries once the upstream has answered.
+ *
+ * Usage in a route: {@code filters: - ResponseCache}
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    // Must wrap the response before NettyWriteResponseFilter writes the upstream body into it
+    static final int FILTER_ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+
+    @Autowired
+    private ResponseCacheStore store;
+
+    @Value("${gateway.response-cache.max-entry-bytes:1048576}")
+    private int maxEntryBytes;
+
+    public ResponseCacheGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (request.getMethod() != HttpMethod.GET) {
+                return ResponseCachePurgeGatewayFilterFactory.purgeAfterUpstream(store, exchange, chain);
+            }
+            if (bypass(request)) {
+                store.recordBypass();
+                return chain.filter(exchange);
+            }
+            return keyOf(exchange).flatMap(key -> serve(exchange, chain, key));
+        }, FILTER_ORDER);
+    }
+
+    private static boolean bypass(ServerHttpRequest request) {
+        HttpHeaders headers = request.getHeaders();
+        return headers.containsKey(HttpHeaders.RANGE)
+                || headers.getOrEmpty(HttpHeaders.CACHE_CONTROL).stream().anyMatch(v -> v.contains("no-store"));
+    }
+
+    private Mono<String> keyOf(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        String origin = Optional.ofNullable(request.getHeaders().getOrigin()).orElse("");
+        String target = request.getURI().getRawPath()
+                + (request.getURI().getRawQuery() == null ? "" : "?" + request.getURI().getRawQuery());
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                // Without an authenticated principal, callers are told apart by their credentials, if any
+                .defaultIfEmpty(Optional.ofNullable(ClientKeyResolver.credentialKey(request)).orElse("anonymous"))
+                .map(principal -> principal + '|' + origin + '|' + target);
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, GatewayFilterChain chain, String key) {
+        CachedResponse cached = store.get(key);
+        if (cached != null && cached.isFresh(System.currentTimeMillis())) {
+            store.recordHit();
+            return writeCached(exchange, cached);
+        }
+
+        Sinks.One<CachedResponse> flight = Sinks.one();
+        Sinks.One<CachedResponse> leader = store.joinFlight(key, flight);
+        if (leader != null) {
+            return leader.asMono()
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(entry -> {
+                        if (entry.isPresent()) {
+                            store.recordCollapsed();
+                            return writeCached(exchange, entry.get());
+                        }
+                        store.recordMiss();
+                        return chain.filter(exchange);
+                    });
+        }
+
+        long generation = store.generation();
+        // Snapshot first: mutating the request's headers below also changes the original's
+        List<String> clientETags = List.copyOf(exchange.getRequest().getHeaders().getIfNoneMatch());
+        ServerHttpRequest upstreamRequest = exchange.getRequest();
+        if (cached != null && cached.getETag() != null) {
+            upstreamRequest = upstreamRequest.mutate()
+                    .headers(headers -> {
+                        headers.setIfNoneMatch(cached.getETag());
+                        headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                    })
+                    .build();
+        }
+        CachingResponse response = new CachingResponse(exchange, key, cached, clientETags);
+        return chain.filter(exchange.mutate().request(upstreamRequest).response(response).build())
+                .doFinally(signal -> {
+                    if (response.revalidated) {
+                        store.recordRevalidated();
+                    } else {
+                        store.recordMiss();
+                    }
+                    store.completeFlight(key, flight, response.result, generation);
+                });
+    }
+
+    private static Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse entry) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (entry.matches(exchange.getRequest().getHeaders().getIfNoneMatch())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            copyValidators(entry.getHeaders(), response.getHeaders());
+            return response.setComplete();
+        }
+        response.setStatusCode(entry.getStatus());
+        response.getHeaders().putAll(entry.getHeaders());
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(entry.getBody())));
+    }
+
+    private static void copyValidators(HttpHeaders from, HttpHeaders to) {
+        for (String name : List.of(HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL,
+                HttpHeaders.VARY)) {
+            List<String> values = from.get(name);
+            if (values != null) {
+                to.put(name, values);
+            }
+        }
+    }
+
+    /**
+     * Passes the upstream response through while keeping a copy of a
+     * cacheable body, and turns an upstream 304 to a revalidation into the
+     * stored response (or a 304 if the client already holds it).
+     */
+    private class CachingResponse extends ServerHttpResponseDecorator {
+        private final ServerWebExchange exchange;
+        private final String key;
+        private final CachedResponse stale;
+        private final List<String> clientETags;
+        private CachedResponse result;
+        private boolean revalidated;
+
+        CachingResponse(ServerWebExchange exchange, String key, CachedResponse stale, List<String> clientETags) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.stale = stale;
+            this.clientETags = clientETags;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            long now = System.currentTimeMillis();
+            HttpStatus status = HttpStatus.resolve(getStatusCode() == null ? 200 : getStatusCode().value());
+
+            if (status == HttpStatus.NOT_MODIFIED && stale != null) {
+                CachedResponse refreshed = stale.revalidated(getHeaders(), now);
+                result = refreshed;
+                revalidated = true;
+                if (refreshed.matches(clientETags)) {
+                    return super.writeWith(body);
+                }
+                // Drain the empty upstream body and answer with the stored one
+                return Flux.from(body).doOnNext(DataBufferUtils::release).then(Mono.defer(() -> {
+                    getHeaders().clear();
+                    setStatusCode(refreshed.getStatus());
+                    getHeaders().putAll(refreshed.getHeaders());
+                    return super.writeWith(Mono.just(bufferFactory().wrap(refreshed.getBody())));
+                }));
+            }
+
+            if (status != HttpStatus.OK) {
+                if (stale != null && status == HttpStatus.NOT_FOUND) {
+                    store.evict(key);
+                }
+                return super.writeWith(body);
+            }
+            long declaredLength = getHeaders().getContentLength();
+            if (declaredLength > maxEntryBytes || !CachedResponse.isStorable(getHeaders())) {
+                return super.writeWith(body);
+            }
+
+            HttpHeaders headers = HttpHeaders.writableHttpHeaders(getHeaders());
+            ByteArrayOutputStream copy = new ByteArrayOutputStream(declaredLength > 0 ? (int) declaredLength : 1024);
+            boolean[] overflow = {false};
+            Flux<? extends DataBuffer> tee = Flux.from(body).doOnNext(buffer -> {
+                int length = buffer.readableByteCount();
+                if (overflow[0] || copy.size() + length > maxEntryBytes) {
+                    overflow[0] = true;
+                    return;
+                }
+                byte[] bytes = new byte[length];
+                buffer.toByteBuffer(buffer.readPosition(), ByteBuffer.wrap(bytes), 0, length);
+                copy.writeBytes(bytes);
+            });
+            return super.writeWith(tee).doOnSuccess(done -> {
+                if (!overflow[0]) {
+                    result = CachedResponse.of(HttpStatus.OK, headers, copy.toByteArray(),
+                            ResponseCacheStore.tagOf(exchange.getRequest().getPath().value()), now);
+                }
+            });
+        }
+    }
+
+    public static class Config {
+    }
+}
@@ -0,0 +1,81 @@
+package com.ycompany.gateway.filter;
+
+import com.ycompany.gateway.cache.ResponseCacheStore;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Purges cached claim responses when a write passes through a route that
+ * changes claims without serving them, e.g. workflow approval and
+ * supervisor assignment.
+ *
+ * Usage in a route: {@code filters: - ResponseCachePurge}
+ */
+@Component
+public class ResponseCachePurgeGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCachePurgeGatewayFilterFactory.Config> {
+
+    @Autowired
+    private ResponseCacheStore store;
+
+    public ResponseCachePurgeGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            HttpMethod method = exchange.getRequest().getMethod();
+            if (method == HttpMethod.GET || method == HttpMethod.HEAD || method == HttpMethod.OPTIONS) {
+                return chain.filter(exchange);
+            }
+            return purgeAfterUpstream(store, exchange, chain);
+        }, ResponseCacheGatewayFilterFactory.FILTER_ORDER);
+    }
+
+    /**
+     * Forwards a write and purges the entries for the claim in its path (all
+     * entries if it names none) as soon as the upstream response arrives,
+     * before it reaches the client, so the client's next read cannot hit a
+     * pre-write entry. Also purges if the call fails.
+     */
+    static Mono<Void> purgeAfterUpstream(ResponseCacheStore store, ServerWebExchange exchange,
+                                         GatewayFilterChain chain) {
+        String tag = ResponseCacheStore.tagOf(exchange.getRequest().getPath().value());
+        AtomicBoolean purged = new AtomicBoolean();
+        Runnable purge = () -> {
+            if (purged.compareAndSet(false, true)) {
+                store.purge(tag);
+            }
+        };
+        ServerHttpResponseDecorator response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                purge.run();
+                return super.writeWith(body);
+            }
+
+            @Override
+            public Mono<Void> setComplete() {
+                purge.run();
+                return super.setComplete();
+            }
+        };
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> purge.run());
+    }
+
+    public static class Config {
+    }
+}
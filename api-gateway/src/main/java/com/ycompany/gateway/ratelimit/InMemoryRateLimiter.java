@@ -0,0 +1,144 @@
+package com.ycompany.gateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-local token-bucket limiter for the gateway's RequestRateLimiter
+ * filter, so rate limiting needs no Redis. Each route can limit every client
+ * (as resolved by {@code ClientKeyResolver}) and the route as a whole:
+ *
+ * <pre>
+ * - name: RequestRateLimiter
+ *   args:
+ *     key-resolver: "#{@clientKeyResolver}"
+ *     in-memory-rate-limiter.replenish-rate: 20
+ *     in-memory-rate-limiter.burst-capacity: 40
+ *     in-memory-rate-limiter.route-replenish-rate: 500
+ *     in-memory-rate-limiter.route-burst-capacity: 1000
+ * </pre>
+ *
+ * The client bucket is checked first, so a client that is over its own limit
+ * never uses up the route's tokens. Limits are per gateway instance.
+ */
+@Component
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+
+    private final Cache<String, TokenBucket> clientBuckets;
+    private final Map<String, TokenBucket> routeBuckets = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    public InMemoryRateLimiter(ConfigurationService configurationService, MeterRegistry registry,
+                               @Value("${gateway.rate-limit.max-clients:100000}") long maxClients,
+                               @Value("${gateway.rate-limit.idle-client-expiry:10m}") Duration idleClientExpiry) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.registry = registry;
+        // Idle clients' buckets are dropped; a returning client starts with a full bucket
+        this.clientBuckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(idleClientExpiry)
+                .build();
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().get(routeId);
+        if (config == null) {
+            throw new IllegalArgumentException("No " + CONFIGURATION_PROPERTY_NAME + " configuration for route " + routeId);
+        }
+
+        TokenBucket client = clientBuckets.get(routeId + '|' + id,
+                key -> new TokenBucket(config.getReplenishRate(), config.getBurstCapacity()));
+        if (!client.tryConsume()) {
+            rejected(routeId, "client").increment();
+            return Mono.just(new Response(false, headers(config, client, true)));
+        }
+
+        if (config.getRouteReplenishRate() > 0) {
+            TokenBucket route = routeBuckets.computeIfAbsent(routeId,
+                    key -> new TokenBucket(config.getRouteReplenishRate(),
+                            Math.max(config.getRouteBurstCapacity(), config.getRouteReplenishRate())));
+            if (!route.tryConsume()) {
+                client.refund();
+                rejected(routeId, "route").increment();
+                return Mono.just(new Response(false, headers(config, route, true)));
+            }
+        }
+        return Mono.just(new Response(true, headers(config, client, false)));
+    }
+
+    private Counter rejected(String routeId, String scope) {
+        return Counter.builder("gateway.ratelimit.rejected")
+                .description("Requests rejected with 429 by the in-memory rate limiter")
+                .tag("route", routeId)
+                .tag("scope", scope)
+                .register(registry);
+    }
+
+    private static Map<String, String> headers(Config config, TokenBucket bucket, boolean denied) {
+        Map<String, String> headers = new HashMap<>();
+        headers.put("X-RateLimit-Replenish-Rate", String.valueOf(config.getReplenishRate()));
+        headers.put("X-RateLimit-Burst-Capacity", String.valueOf(config.getBurstCapacity()));
+        headers.put("X-RateLimit-Remaining", String.valueOf(bucket.remaining()));
+        if (denied) {
+            headers.put(HttpHeaders.RETRY_AFTER, String.valueOf(bucket.secondsUntilNextToken()));
+        }
+        return headers;
+    }
+
+    public static class Config {
+        // Per client: tokens per second and bucket size
+        private int replenishRate = 10;
+        private int burstCapacity = 20;
+        // Whole route, shared by all clients; 0 disables the route limit
+        private int routeReplenishRate;
+        private int routeBurstCapacity;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public int getRouteReplenishRate() {
+            return routeReplenishRate;
+        }
+
+        public void setRouteReplenishRate(int routeReplenishRate) {
+            this.routeReplenishRate = routeReplenishRate;
+        }
+
+        public int getRouteBurstCapacity() {
+            return routeBurstCapacity;
+        }
+
+        public void setRouteBurstCapacity(int routeBurstCapacity) {
+            this.routeBurstCapacity = routeBurstCapacity;
+        }
+    }
+}
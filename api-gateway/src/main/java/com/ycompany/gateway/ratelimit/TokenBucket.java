@@ -0,0 +1,53 @@
+package com.ycompany.gateway.ratelimit;
+
+/**
+ * Token bucket refilled continuously at {@code replenishRate} tokens per
+ * second up to {@code burstCapacity}. Starts full.
+ */
+class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(double replenishRate, double burstCapacity) {
+        this.capacity = burstCapacity;
+        this.tokensPerNano = replenishRate / 1_000_000_000d;
+        this.tokens = burstCapacity;
+        this.lastRefill = System.nanoTime();
+    }
+
+    synchronized boolean tryConsume() {
+        refill();
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    // Gives back a token taken for a request that a later check rejected
+    synchronized void refund() {
+        tokens = Math.min(capacity, tokens + 1);
+    }
+
+    synchronized long remaining() {
+        refill();
+        return (long) tokens;
+    }
+
+    /** Whole seconds until the next token, at least 1. */
+    synchronized long secondsUntilNextToken() {
+        refill();
+        if (tokens >= 1 || tokensPerNano <= 0) {
+            return 1;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / tokensPerNano / 1_000_000_000d));
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+    }
+}
@@ -0,0 +1,83 @@
+package com.ycompany.benchmarks;
+
+import com.ycompany.claim.config.CacheConfig;
+import com.ycompany.claim.service.ClaimService;
+import com.ycompany.common.dto.ClaimDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claim reads through ClaimService, i.e. the repository queries plus
+ * ClaimService.convertToDTO, as the number of comments per claim grows.
+ * Reads bypass the claim cache unless the benchmark name says otherwise.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClaimConversionBenchmark {
+
+    private static final String CUSTOMER_ID = "BENCH001";
+    private static final int CLAIMS = 20;
+
+    @Param({"0", "5", "50", "500"})
+    public int commentCount;
+
+    private ClaimServiceContext context;
+    private ClaimService claimService;
+    private Cache claimsCache;
+    private List<Long> claimIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new ClaimServiceContext();
+        claimService = context.bean(ClaimService.class);
+        claimsCache = context.bean(CacheManager.class).getCache(CacheConfig.CLAIMS_CACHE);
+        claimIds = context.seed(CUSTOMER_ID, CLAIMS, commentCount);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private Long randomClaimId() {
+        return claimIds.get(ThreadLocalRandom.current().nextInt(claimIds.size()));
+    }
+
+    @Benchmark
+    public ClaimDTO claimById() {
+        Long id = randomClaimId();
+        claimsCache.evict(id);
+        return claimService.getClaimById(id);
+    }
+
+    @Benchmark
+    public ClaimDTO claimByIdCached() {
+        return claimService.getClaimById(randomClaimId());
+    }
+
+    @Benchmark
+    public List<ClaimDTO> claimsByCustomer() {
+        return claimService.getClaimsByCustomerId(CUSTOMER_ID);
+    }
+}
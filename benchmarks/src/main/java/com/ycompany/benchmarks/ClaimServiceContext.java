@@ -0,0 +1,92 @@
+package com.ycompany.benchmarks;
+
+import com.ycompany.claim.ClaimServiceApplication;
+import com.ycompany.claim.entity.Claim;
+import com.ycompany.claim.entity.Comment;
+import com.ycompany.claim.repository.ClaimRepository;
+import com.ycompany.claim.repository.CommentRepository;
+import com.ycompany.claim.service.ClaimService;
+import com.ycompany.common.dto.ClaimDTO;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The claim-service application context on an in-memory H2 database, without
+ * the web server, the Temporal worker or the outbox relay, so benchmarks
+ * exercise the real service, repository and Hibernate configuration.
+ */
+public class ClaimServiceContext implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    public ClaimServiceContext() {
+        // Command line arguments, so they win over application.yml's PostgreSQL settings
+        context = new SpringApplicationBuilder(ClaimServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--temporal.worker.enabled=false",
+                        "--claim.outbox.enabled=false",
+                        "--claim.policy.node-id=1",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.ycompany=WARN",
+                        "--logging.level.org.hibernate.orm.deprecation=ERROR");
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    /**
+     * Creates {@code claims} claims for the customer through ClaimService,
+     * each with {@code commentsPerClaim} comments.
+     *
+     * @return the ids of the new claims
+     */
+    public List<Long> seed(String customerId, int claims, int commentsPerClaim) {
+        ClaimService claimService = bean(ClaimService.class);
+        ClaimRepository claimRepository = bean(ClaimRepository.class);
+        CommentRepository commentRepository = bean(CommentRepository.class);
+        List<Long> ids = new ArrayList<>(claims);
+        for (int i = 0; i < claims; i++) {
+            ClaimDTO dto = new ClaimDTO();
+            dto.setCustomerId(customerId);
+            dto.setPolicyNumber("POL-" + customerId + "-" + i);
+            dto.setClaimType("Auto");
+            dto.setDescription("Benchmark claim " + i);
+            dto.setClaimAmount(1000.0 + i);
+            Long id = claimService.createClaim(dto).getId();
+            Claim claim = claimRepository.getReferenceById(id);
+            List<Comment> comments = new ArrayList<>(commentsPerClaim);
+            for (int c = 0; c < commentsPerClaim; c++) {
+                Comment comment = new Comment();
+                comment.setClaim(claim);
+                comment.setText("Comment " + c + " on claim " + id);
+                comment.setAuthorId("SUP" + (c % 7));
+                comment.setAuthorName("Supervisor " + (c % 7));
+                comments.add(comment);
+            }
+            commentRepository.saveAll(comments);
+            ids.add(id);
+        }
+        return ids;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
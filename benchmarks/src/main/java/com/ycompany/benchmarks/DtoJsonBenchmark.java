@@ -0,0 +1,131 @@
+package com.ycompany.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ycompany.common.dto.ApprovalRequestDTO;
+import com.ycompany.common.dto.ClaimDTO;
+import com.ycompany.common.dto.CommentDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization and deserialization of the DTOs on the claim read
+ * and approval paths, with an ObjectMapper configured the way Spring Boot
+ * configures the services' (Jackson2ObjectMapperBuilder defaults).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DtoJsonBenchmark {
+
+    private static final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @State(Scope.Benchmark)
+    public static class ClaimPayload {
+
+        // Embedded comment preview; 5 is the default claim.comments.preview-size
+        @Param({"0", "5", "50"})
+        public int commentCount;
+
+        ObjectWriter writer;
+        ObjectReader reader;
+        ClaimDTO claim;
+        byte[] json;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            writer = objectMapper.writerFor(ClaimDTO.class);
+            reader = objectMapper.readerFor(ClaimDTO.class);
+
+            claim = new ClaimDTO();
+            claim.setId(12345L);
+            claim.setCustomerId("CUST001");
+            claim.setPolicyNumber("POL-CUST001-20260119-SPV99L4YT4W");
+            claim.setClaimType("Auto");
+            claim.setDescription("Rear-ended at a traffic light; bumper and tail light damaged");
+            claim.setClaimAmount(5000.0);
+            claim.setStatus("PENDING");
+            claim.setCreatedAt(LocalDateTime.now().minusDays(2));
+            claim.setUpdatedAt(LocalDateTime.now());
+            claim.setDocumentUrls(List.of("https://docs.example.com/claims/12345/photo-1.jpg",
+                    "https://docs.example.com/claims/12345/estimate.pdf"));
+            claim.setSupervisorId("SUPER001");
+            claim.setVersion(3L);
+            List<CommentDTO> comments = new ArrayList<>(commentCount);
+            for (int i = 0; i < commentCount; i++) {
+                CommentDTO comment = new CommentDTO();
+                comment.setId((long) i);
+                comment.setText("Reviewed the repair estimate, item " + i + " looks consistent with the photos");
+                comment.setAuthorId("SUPER001");
+                comment.setAuthorName("Supervisor One");
+                comment.setCreatedAt(LocalDateTime.now().minusMinutes(commentCount - i));
+                comments.add(comment);
+            }
+            claim.setComments(comments);
+            claim.setCommentCount((long) commentCount);
+            json = writer.writeValueAsBytes(claim);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class ApprovalPayload {
+
+        ObjectWriter writer;
+        ObjectReader reader;
+        ApprovalRequestDTO approval;
+        byte[] json;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            writer = objectMapper.writerFor(ApprovalRequestDTO.class);
+            reader = objectMapper.readerFor(ApprovalRequestDTO.class);
+
+            approval = new ApprovalRequestDTO();
+            approval.setClaimId(12345L);
+            approval.setSupervisorId("SUPER001");
+            approval.setDecision("APPROVED");
+            approval.setComments("Approved after review");
+            json = writer.writeValueAsBytes(approval);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeClaim(ClaimPayload payload) throws IOException {
+        return payload.writer.writeValueAsBytes(payload.claim);
+    }
+
+    @Benchmark
+    public ClaimDTO deserializeClaim(ClaimPayload payload) throws IOException {
+        return payload.reader.readValue(payload.json);
+    }
+
+    @Benchmark
+    public byte[] serializeApproval(ApprovalPayload payload) throws IOException {
+        return payload.writer.writeValueAsBytes(payload.approval);
+    }
+
+    @Benchmark
+    public ApprovalRequestDTO deserializeApproval(ApprovalPayload payload) throws IOException {
+        return payload.reader.readValue(payload.json);
+    }
+}
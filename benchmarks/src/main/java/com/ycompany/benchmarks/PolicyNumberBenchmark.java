@@ -0,0 +1,76 @@
+package com.ycompany.benchmarks;
+
+import com.ycompany.claim.service.PolicyNumberSequence;
+import com.ycompany.claim.service.PolicyService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PolicyService.generateUniquePolicyNumber and the id sequence behind it,
+ * uncontended and with 8 threads sharing one sequence. No application
+ * context: the two beans are wired by hand, as the database is not involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PolicyNumberBenchmark {
+
+    private PolicyNumberSequence sequence;
+    private PolicyService policyService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sequence = new PolicyNumberSequence();
+        inject(sequence, "configuredNodeId", 1L);
+        sequence.init();
+        policyService = new PolicyService();
+        inject(policyService, "policyNumberSequence", sequence);
+    }
+
+    private static void inject(Object target, String fieldName, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), fieldName);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String policyNumber() {
+        return policyService.generateUniquePolicyNumber("CUST001");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String policyNumberContended() {
+        return policyService.generateUniquePolicyNumber("CUST001");
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long sequenceId() {
+        return sequence.nextId();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long sequenceIdContended() {
+        return sequence.nextId();
+    }
+}
@@ -0,0 +1,86 @@
+package com.ycompany.benchmarks;
+
+import com.ycompany.claim.entity.Claim;
+import com.ycompany.claim.repository.ClaimRepository;
+import com.ycompany.claim.repository.ClaimRevision;
+import com.ycompany.claim.service.ClaimService;
+import com.ycompany.common.dto.ClaimSummaryDTO;
+import com.ycompany.common.dto.CommentDTO;
+import com.ycompany.common.dto.CursorPageDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Individual read queries against embedded H2: 500 claims with 20 comments
+ * each, read by id, by revision (the conditional GET check) and by page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryReadBenchmark {
+
+    private ClaimServiceContext context;
+    private ClaimRepository claimRepository;
+    private ClaimService claimService;
+    private List<Long> claimIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new ClaimServiceContext();
+        claimRepository = context.bean(ClaimRepository.class);
+        claimService = context.bean(ClaimService.class);
+        claimIds = context.seed("BENCH002", 500, 20);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private Long randomClaimId() {
+        return claimIds.get(ThreadLocalRandom.current().nextInt(claimIds.size()));
+    }
+
+    @Benchmark
+    public Optional<Claim> findById() {
+        return claimRepository.findById(randomClaimId());
+    }
+
+    @Benchmark
+    public Optional<ClaimRevision> findRevisionById() {
+        return claimRepository.findRevisionById(randomClaimId());
+    }
+
+    @Benchmark
+    public CursorPageDTO<ClaimSummaryDTO> listClaimsFirstPage() {
+        return claimService.listClaims(null, null, null, null, null, null, null, 50);
+    }
+
+    @Benchmark
+    public CursorPageDTO<ClaimSummaryDTO> listClaimsByCustomer() {
+        return claimService.listClaims(null, null, null, "BENCH002", null, null, null, 50);
+    }
+
+    @Benchmark
+    public CursorPageDTO<CommentDTO> commentsFirstPage() {
+        return claimService.getCommentsByClaimId(randomClaimId(), null, 10);
+    }
+}
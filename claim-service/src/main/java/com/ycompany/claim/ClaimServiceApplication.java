@@ -4,10 +4,12 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {"com.ycompany.claim", "com.ycompany.common"})
 @EntityScan(basePackages = {"com.ycompany.claim.entity"})
 @EnableJpaRepositories(basePackages = {"com.ycompany.claim.repository"})
+@EnableScheduling
 public class ClaimServiceApplication {
     public static void main(String[] args) {
         SpringApplication.run(ClaimServiceApplication.class, args);
@@ -0,0 +1,40 @@
+package com.ycompany.claim.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CLAIMS_CACHE = "claims";
+
+    /**
+     * Bounded in-process cache of ClaimDTO by id. Puts and evictions issued
+     * inside a transaction are deferred until it commits, so a reader that
+     * loaded the old row can still store it after a writer's evict, and
+     * writes on other replicas never evict it at all. Entries are therefore
+     * only served after ClaimService checks them against the claim's current
+     * revision; evictions just free the space early. Hit/miss/eviction counts
+     * are published as cache.* meters on the actuator metrics endpoint.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${claim.cache.maximum-size:10000}") long maximumSize,
+                                     @Value("${claim.cache.ttl:5m}") Duration ttl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CLAIMS_CACHE);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
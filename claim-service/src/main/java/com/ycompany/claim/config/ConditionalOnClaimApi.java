@@ -0,0 +1,21 @@
+package com.ycompany.claim.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the beans of the claim and policy REST API. They are left out when
+ * claim.api.enabled=false (worker mode, where only the Temporal worker and
+ * the actuator endpoints run).
+ */
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ConditionalOnProperty(name = "claim.api.enabled", havingValue = "true", matchIfMissing = true)
+public @interface ConditionalOnClaimApi {
+}
@@ -0,0 +1,34 @@
+package com.ycompany.claim.config;
+
+import com.ycompany.claim.service.ClaimSearchIndex;
+import com.ycompany.claim.service.InMemoryClaimSearchIndex;
+import com.ycompany.claim.service.PostgresClaimSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnClaimApi
+public class SearchConfig {
+
+    /**
+     * claim.search.index: postgres (tsvector column and GIN index), memory
+     * (in-process inverted index, single instance only) or auto, which picks
+     * postgres for a PostgreSQL datasource and memory otherwise.
+     */
+    @Bean
+    public ClaimSearchIndex claimSearchIndex(@Value("${claim.search.index:auto}") String index,
+                                             @Value("${spring.datasource.url:}") String datasourceUrl) {
+        switch (index) {
+            case "postgres":
+                return new PostgresClaimSearchIndex();
+            case "memory":
+                return new InMemoryClaimSearchIndex();
+            case "auto":
+                return datasourceUrl.startsWith("jdbc:postgresql:")
+                        ? new PostgresClaimSearchIndex() : new InMemoryClaimSearchIndex();
+            default:
+                throw new IllegalStateException("claim.search.index must be auto, postgres or memory, not " + index);
+        }
+    }
+}
@@ -1,23 +1,59 @@
 package com.ycompany.claim.controller;
 
+import com.ycompany.claim.config.ConditionalOnClaimApi;
+import com.ycompany.common.dto.BulkClaimResultDTO;
 import com.ycompany.common.dto.ClaimDTO;
+import com.ycompany.common.dto.ClaimStatsDTO;
+import com.ycompany.common.dto.ClaimStatusDTO;
+import com.ycompany.common.dto.ClaimSummaryDTO;
 import com.ycompany.common.dto.CommentDTO;
+import com.ycompany.common.dto.CursorPageDTO;
+import com.ycompany.common.dto.SupervisorAssignmentDTO;
+import com.ycompany.claim.entity.ClaimStatus;
+import com.ycompany.claim.repository.ClaimRevision;
+import com.ycompany.claim.service.ClaimEventBus;
 import com.ycompany.claim.service.ClaimService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
+@ConditionalOnClaimApi
 @RequestMapping("/claims")
 @CrossOrigin(origins = "*")
 public class ClaimController {
     
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_STATS_DAYS = 366;
+    
     @Autowired
     private ClaimService claimService;
+    
+    @Autowired
+    private ClaimEventBus claimEventBus;
+    
+    @Value("${claim.listing.full-list-enabled:false}")
+    private boolean fullListEnabled;
+    
+    @Value("${claim.bulk.max-items:5000}")
+    private int bulkMaxItems;
 
     @PostMapping
     public ResponseEntity<ClaimDTO> createClaim(@Valid @RequestBody ClaimDTO claimDTO) {
@@ -25,10 +61,37 @@ public class ClaimController {
         return new ResponseEntity<>(createdClaim, HttpStatus.CREATED);
     }
 
+    /**
+     * Creates a batch of claims. Items are validated individually; the response
+     * is 201 when every item was created and 207 with per-item results otherwise.
+     * POST /claims/bulk
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BulkClaimResultDTO>> createClaims(@RequestBody List<ClaimDTO> claimDTOs) {
+        if (claimDTOs.isEmpty() || claimDTOs.size() > bulkMaxItems) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<BulkClaimResultDTO> results = claimService.createClaims(claimDTOs);
+        boolean allCreated = results.stream().allMatch(result -> "CREATED".equals(result.getStatus()));
+        return new ResponseEntity<>(results, allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
+    }
+
+    /**
+     * Conditional GET: the ETag and Last-Modified come from the claim's
+     * revision, and a matching If-None-Match / If-Modified-Since is answered
+     * with 304 before the claim is loaded or converted.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<ClaimDTO> getClaimById(@PathVariable Long id) {
-        ClaimDTO claim = claimService.getClaimById(id);
-        return ResponseEntity.ok(claim);
+    public ResponseEntity<ClaimDTO> getClaimById(@PathVariable Long id, WebRequest request) {
+        Optional<ClaimRevision> revision = claimService.getClaimRevision(id);
+        if (revision.isPresent() && request.checkNotModified(
+                revision.get().getClaimETag(), revision.get().getClaimLastModified())) {
+            return null;
+        }
+        ClaimDTO claim = revision.isPresent()
+                ? claimService.getClaimById(id, revision.get()) : claimService.getClaimById(id);
+        // no-cache: browsers may keep the body but must revalidate it on every use
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(claim);
     }
 
     @GetMapping("/customer/{customerId}")
@@ -37,12 +100,119 @@ public class ClaimController {
         return ResponseEntity.ok(claims);
     }
 
+    /**
+     * Keyset-paginated claim listing, newest first.
+     * GET /claims?status=PENDING&limit=50&cursor=1234
+     */
     @GetMapping
+    public ResponseEntity<CursorPageDTO<ClaimSummaryDTO>> listClaims(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String claimType,
+            @RequestParam(required = false) String supervisorId,
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        CursorPageDTO<ClaimSummaryDTO> page = claimService.listClaims(status, claimType, supervisorId,
+                customerId, createdFrom, createdTo, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Full-text search over descriptions and comments, best match first; 400
+     * for a blank or over-long query.
+     * GET /claims/search?q=water+damage&limit=20&cursor=20
+     */
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<ClaimSummaryDTO>> searchClaims(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit) {
+        if (query.isBlank() || query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+        CursorPageDTO<ClaimSummaryDTO> page = claimService.searchClaims(query, cursor, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    /**
+     * Claim counts and amounts per status, type, supervisor and creation day,
+     * from pre-aggregated counters. Days default to the last 30; 400 for a
+     * range of more than 366 days.
+     * GET /claims/stats?from=2026-01-01&to=2026-01-31
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<ClaimStatsDTO> getStats(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate lastDay = to == null ? LocalDate.now() : to;
+        LocalDate firstDay = from == null ? lastDay.minusDays(29) : from;
+        if (firstDay.isAfter(lastDay) || ChronoUnit.DAYS.between(firstDay, lastDay) >= MAX_STATS_DAYS) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(claimService.getStats(firstDay, lastDay));
+    }
+
+    /**
+     * Unbounded full listing with latest comments. Only served when
+     * claim.listing.full-list-enabled is set; use GET /claims otherwise.
+     */
+    @GetMapping("/all")
     public ResponseEntity<List<ClaimDTO>> getAllClaims() {
+        if (!fullListEnabled) {
+            return ResponseEntity.status(HttpStatus.GONE).build();
+        }
         List<ClaimDTO> claims = claimService.getAllClaims();
         return ResponseEntity.ok(claims);
     }
 
+    /**
+     * Streams every claim as newline-delimited JSON, optionally gzip-encoded.
+     * GET /claims/export?gzip=true
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportClaims(
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                claimService.exportClaims(gzipOut);
+                gzipOut.finish();
+            } else {
+                claimService.exportClaims(out);
+            }
+        };
+        
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Server-Sent Events stream of claim changes (status, supervisor, new
+     * comments and claims), for all claims or only one customer's or one
+     * claim's. 503 once claim.events.max-subscribers streams are open.
+     * GET /claims/events?customerId=CUST001
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents(
+            @RequestParam(required = false) String customerId,
+            @RequestParam(required = false) Long claimId) {
+        SseEmitter emitter = claimEventBus.subscribe(customerId, claimId);
+        if (emitter == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(emitter);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ClaimDTO> updateClaim(@PathVariable Long id, @Valid @RequestBody ClaimDTO claimDTO) {
         ClaimDTO updatedClaim = claimService.updateClaim(id, claimDTO);
@@ -55,16 +225,51 @@ public class ClaimController {
         return new ResponseEntity<>(comment, HttpStatus.CREATED);
     }
 
+    /**
+     * Keyset-paginated comments of a claim, newest first.
+     * GET /claims/{id}/comments?limit=50&cursor=1234
+     */
     @GetMapping("/{id}/comments")
-    public ResponseEntity<List<CommentDTO>> getComments(@PathVariable Long id) {
-        List<CommentDTO> comments = claimService.getCommentsByClaimId(id);
-        return ResponseEntity.ok(comments);
+    public ResponseEntity<CursorPageDTO<CommentDTO>> getComments(
+            @PathVariable Long id,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        Optional<ClaimRevision> revision = claimService.getClaimRevision(id);
+        if (revision.isPresent() && request.checkNotModified(
+                revision.get().getCommentsETag(), revision.get().getCommentsLastModified())) {
+            return null;
+        }
+        CursorPageDTO<CommentDTO> comments = claimService.getCommentsByClaimId(id, cursor, limit);
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(comments);
     }
 
+    /**
+     * Assigns a supervisor in a single UPDATE. With expectedVersion the write
+     * is conditional and a stale version answers 409.
+     * PATCH /claims/{id}/supervisor?supervisorId=SUPER001&expectedVersion=3
+     */
+    @PatchMapping("/{id}/supervisor")
+    public ResponseEntity<SupervisorAssignmentDTO> assignSupervisor(
+            @PathVariable Long id,
+            @RequestParam("supervisorId") String supervisorId,
+            @RequestParam(required = false) Long expectedVersion) {
+        SupervisorAssignmentDTO assignment = claimService.assignSupervisor(id, supervisorId, expectedVersion);
+        return ResponseEntity.ok(assignment);
+    }
+
+    /**
+     * Applies a status transition; 400 for an unknown status, 409 if the
+     * transition is not allowed from the claim's current status.
+     */
     @PatchMapping("/{id}/status")
-    public ResponseEntity<ClaimDTO> updateStatus(@PathVariable Long id, @RequestParam("status") String status) {
-        ClaimDTO updatedClaim = claimService.updateClaimStatus(id, status);
-        return ResponseEntity.ok(updatedClaim);
+    public ResponseEntity<ClaimStatusDTO> updateStatus(@PathVariable Long id, @RequestParam("status") String status) {
+        ClaimStatus target = ClaimStatus.parse(status).orElse(null);
+        if (target == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        ClaimStatusDTO updatedStatus = claimService.updateClaimStatus(id, target);
+        return ResponseEntity.ok(updatedStatus);
     }
 }
 
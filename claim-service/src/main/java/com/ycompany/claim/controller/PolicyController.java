@@ -1,5 +1,6 @@
 package com.ycompany.claim.controller;
 
+import com.ycompany.claim.config.ConditionalOnClaimApi;
 import com.ycompany.claim.service.PolicyService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -9,6 +10,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 @RestController
+@ConditionalOnClaimApi
 @RequestMapping("/policies")
 @CrossOrigin(origins = "*")
 public class PolicyController {
@@ -1,15 +1,24 @@
 package com.ycompany.claim.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "claims")
+@Table(name = "claims", indexes = {
+    @Index(name = "idx_claims_status_id", columnList = "status, id"),
+    @Index(name = "idx_claims_claim_type_id", columnList = "claimType, id"),
+    @Index(name = "idx_claims_supervisor_id_id", columnList = "supervisorId, id"),
+    @Index(name = "idx_claims_customer_id_id", columnList = "customerId, id"),
+    @Index(name = "idx_claims_created_at", columnList = "createdAt")
+})
 public class Claim {
+    // Pooled sequence (not IDENTITY) so Hibernate can batch inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "claims_seq")
+    @SequenceGenerator(name = "claims_seq", sequenceName = "claims_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -42,6 +51,12 @@ public class Claim {
     
     private String supervisorId;
     
+    // Optimistic lock; the default backfills rows created before the column existed
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+    
     @OneToMany(mappedBy = "claim", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
 
@@ -145,6 +160,14 @@ public class Claim {
         this.supervisorId = supervisorId;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<Comment> getComments() {
         return comments;
     }
@@ -0,0 +1,106 @@
+package com.ycompany.claim.entity;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Pre-aggregated claim count and total claim amount of one bucket, e.g.
+ * STATUS/PENDING. Each bucket is striped over several slot rows that writers
+ * pick at random, so concurrent transactions rarely wait on the same row
+ * lock; a bucket's value is the sum of its slots.
+ */
+@Entity
+@Table(name = "claim_stats_counters")
+@IdClass(ClaimStatsCounter.Key.class)
+public class ClaimStatsCounter {
+    // A ClaimStatsDimension name
+    @Id
+    @Column(length = 20)
+    private String dimension;
+    
+    @Id
+    private String bucket;
+    
+    @Id
+    private int slot;
+    
+    @Column(nullable = false)
+    private long claimCount;
+    
+    @Column(nullable = false)
+    private double totalAmount;
+
+    // Getters and Setters
+    public String getDimension() {
+        return dimension;
+    }
+
+    public void setDimension(String dimension) {
+        this.dimension = dimension;
+    }
+
+    public String getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(String bucket) {
+        this.bucket = bucket;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    public long getClaimCount() {
+        return claimCount;
+    }
+
+    public void setClaimCount(long claimCount) {
+        this.claimCount = claimCount;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public static class Key implements Serializable {
+        private String dimension;
+        private String bucket;
+        private int slot;
+
+        public Key() {
+        }
+
+        public Key(String dimension, String bucket, int slot) {
+            this.dimension = dimension;
+            this.bucket = bucket;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return slot == other.slot && Objects.equals(dimension, other.dimension) && Objects.equals(bucket, other.bucket);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dimension, bucket, slot);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.ycompany.claim.entity;
+
+/**
+ * What a {@link ClaimStatsCounter} bucket groups claims by.
+ */
+public enum ClaimStatsDimension {
+    STATUS,
+    CLAIM_TYPE,
+    SUPERVISOR,
+    // Day the claim was created, ISO yyyy-MM-dd
+    DAY,
+    // Single row with no counts, locked by the reconciliation job so only one replica runs it at a time
+    RECONCILIATION
+}
@@ -0,0 +1,35 @@
+package com.ycompany.claim.entity;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Claim lifecycle. A claim starts PENDING and a supervisor decision moves it
+ * to APPROVED or REJECTED, both of which are final.
+ */
+public enum ClaimStatus {
+    PENDING,
+    APPROVED,
+    REJECTED;
+
+    /**
+     * States a claim may move to {@code target} from.
+     */
+    public static Set<ClaimStatus> sourcesOf(ClaimStatus target) {
+        switch (target) {
+            case APPROVED:
+            case REJECTED:
+                return EnumSet.of(PENDING);
+            default:
+                return EnumSet.noneOf(ClaimStatus.class);
+        }
+    }
+
+    public static Optional<ClaimStatus> parse(String value) {
+        return Arrays.stream(values())
+                .filter(status -> status.name().equalsIgnoreCase(value))
+                .findFirst();
+    }
+}
@@ -0,0 +1,15 @@
+package com.ycompany.claim.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A write lost a race with a concurrent change to the same claim
+ * (stale version or unexpected current state). Answered with 409.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ClaimConflictException extends RuntimeException {
+    public ClaimConflictException(String message) {
+        super(message);
+    }
+}
@@ -1,18 +1,142 @@
 package com.ycompany.claim.repository;
 
 import com.ycompany.claim.entity.Claim;
+import com.ycompany.common.dto.ClaimSummaryDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ClaimRepository extends JpaRepository<Claim, Long> {
+    int EXPORT_FETCH_SIZE = 500;
+
     List<Claim> findByCustomerId(String customerId);
     List<Claim> findByStatus(String status);
     List<Claim> findBySupervisorId(String supervisorId);
     boolean existsByPolicyNumber(String policyNumber);
     Optional<Claim> findByPolicyNumber(String policyNumber);
-}
 
+    // Document URLs are join-fetched; comments are loaded separately by claim id
+    // (fetching both bags in one query would multiply rows).
+    @EntityGraph(attributePaths = "documentUrls")
+    List<Claim> findWithDocumentsByCustomerId(String customerId);
+
+    @EntityGraph(attributePaths = "documentUrls")
+    @Query("SELECT c FROM Claim c")
+    List<Claim> findAllWithDocuments();
+
+    /**
+     * Forward-only cursor over every claim in id order. Must be consumed inside
+     * a transaction and closed by the caller.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Claim c ORDER BY c.id")
+    Stream<Claim> streamAllOrderById();
+
+    /**
+     * Sets the supervisor in a single UPDATE, bumping the version, provided
+     * the claim is still at {@code version}. Returns the number of rows changed.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Claim c SET c.supervisorId = :supervisorId, c.version = c.version + 1, c.updatedAt = :now " +
+           "WHERE c.id = :id AND c.version = :version")
+    int assignSupervisor(@Param("id") Long id,
+                         @Param("supervisorId") String supervisorId,
+                         @Param("version") Long version,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * Compare-and-set status change: moves the claim to {@code status} only if
+     * its current status is {@code expectedStatus}. Returns the number of rows
+     * changed (0 when the claim is missing or another writer got there first).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Claim c SET c.status = :status, c.version = c.version + 1, c.updatedAt = :now " +
+           "WHERE c.id = :id AND c.status = :expectedStatus")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("status") String status,
+                         @Param("expectedStatus") String expectedStatus,
+                         @Param("now") LocalDateTime now);
+
+    // Claim count and amount per bucket from the base table, for statistics reconciliation
+    @Query("SELECT c.status, COUNT(c), SUM(c.claimAmount) FROM Claim c GROUP BY c.status")
+    List<Object[]> sumByStatus();
+
+    @Query("SELECT c.claimType, COUNT(c), SUM(c.claimAmount) FROM Claim c GROUP BY c.claimType")
+    List<Object[]> sumByClaimType();
+
+    @Query("SELECT c.supervisorId, COUNT(c), SUM(c.claimAmount) FROM Claim c " +
+           "WHERE c.supervisorId IS NOT NULL GROUP BY c.supervisorId")
+    List<Object[]> sumBySupervisor();
+
+    @Query("SELECT extract(date from c.createdAt), COUNT(c), SUM(c.claimAmount) FROM Claim c " +
+           "GROUP BY extract(date from c.createdAt)")
+    List<Object[]> sumByDay();
+
+    @Query("SELECT new com.ycompany.claim.repository.ClaimRevision(c.version, c.updatedAt, COUNT(m), MAX(m.createdAt)) " +
+           "FROM Claim c LEFT JOIN c.comments m WHERE c.id = :id GROUP BY c.id, c.version, c.updatedAt")
+    Optional<ClaimRevision> findRevisionById(@Param("id") Long id);
+
+    /**
+     * Keyset page of (id, description) rows in id order, for rebuilding the
+     * in-memory search index.
+     */
+    @Query("SELECT c.id, c.description FROM Claim c WHERE c.id > :afterId ORDER BY c.id")
+    List<Object[]> findDescriptionPage(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT c.id, d FROM Claim c JOIN c.documentUrls d WHERE c.id IN :claimIds")
+    List<Object[]> findDocumentUrlsByClaimIdIn(@Param("claimIds") Collection<Long> claimIds);
+
+    /**
+     * Keyset page of claim summaries, newest first. Every filter is optional;
+     * {@code cursor} is the id of the last row of the previous page.
+     */
+    @Query("SELECT new com.ycompany.common.dto.ClaimSummaryDTO(" +
+           "c.id, c.customerId, c.policyNumber, c.claimType, c.claimAmount, " +
+           "c.status, c.supervisorId, c.createdAt, c.updatedAt, c.version) " +
+           "FROM Claim c " +
+           "WHERE (:cursor IS NULL OR c.id < :cursor) " +
+           "AND (:status IS NULL OR c.status = :status) " +
+           "AND (:claimType IS NULL OR c.claimType = :claimType) " +
+           "AND (:supervisorId IS NULL OR c.supervisorId = :supervisorId) " +
+           "AND (:customerId IS NULL OR c.customerId = :customerId) " +
+           "AND (:createdFrom IS NULL OR c.createdAt >= :createdFrom) " +
+           "AND (:createdTo IS NULL OR c.createdAt < :createdTo) " +
+           "ORDER BY c.id DESC")
+    List<ClaimSummaryDTO> findSummaryPage(@Param("cursor") Long cursor,
+                                          @Param("status") String status,
+                                          @Param("claimType") String claimType,
+                                          @Param("supervisorId") String supervisorId,
+                                          @Param("customerId") String customerId,
+                                          @Param("createdFrom") LocalDateTime createdFrom,
+                                          @Param("createdTo") LocalDateTime createdTo,
+                                          Pageable pageable);
+
+    @Query("SELECT new com.ycompany.common.dto.ClaimSummaryDTO(" +
+           "c.id, c.customerId, c.policyNumber, c.claimType, c.claimAmount, " +
+           "c.status, c.supervisorId, c.createdAt, c.updatedAt, c.version) " +
+           "FROM Claim c WHERE c.id = :id")
+    Optional<ClaimSummaryDTO> findSummaryById(@Param("id") Long id);
+
+    @Query("SELECT new com.ycompany.common.dto.ClaimSummaryDTO(" +
+           "c.id, c.customerId, c.policyNumber, c.claimType, c.claimAmount, " +
+           "c.status, c.supervisorId, c.createdAt, c.updatedAt, c.version) " +
+           "FROM Claim c WHERE c.id IN :ids")
+    List<ClaimSummaryDTO> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+}
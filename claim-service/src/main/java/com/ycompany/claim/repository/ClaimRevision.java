@@ -0,0 +1,73 @@
+package com.ycompany.claim.repository;
+
+import com.ycompany.common.dto.ClaimDTO;
+import com.ycompany.common.dto.CommentDTO;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The few columns that identify what a claim and its comments look like at
+ * a point in time, used to answer conditional GETs without loading the
+ * claim. Comments are append-only, so their count is enough to tell whether
+ * they changed.
+ */
+public class ClaimRevision {
+    private final Long version;
+    private final LocalDateTime updatedAt;
+    private final long commentCount;
+    private final LocalDateTime lastCommentAt;
+
+    public ClaimRevision(Long version, LocalDateTime updatedAt, Long commentCount, LocalDateTime lastCommentAt) {
+        this.version = version;
+        this.updatedAt = updatedAt;
+        this.commentCount = commentCount == null ? 0 : commentCount;
+        this.lastCommentAt = lastCommentAt;
+    }
+
+    /**
+     * Derives the revision of an already converted claim, so a cached DTO
+     * carries the same validators as the row it was built from.
+     */
+    public static ClaimRevision of(ClaimDTO claim) {
+        List<CommentDTO> comments = claim.getComments();
+        LocalDateTime lastCommentAt = comments == null || comments.isEmpty()
+                ? null : comments.get(comments.size() - 1).getCreatedAt();
+        return new ClaimRevision(claim.getVersion(), claim.getUpdatedAt(), claim.getCommentCount(), lastCommentAt);
+    }
+
+    /**
+     * Whether both describe the same state of the claim: the same version and
+     * the same number of comments, which is what the ETags are made of.
+     */
+    public boolean isSameAs(ClaimRevision other) {
+        return Objects.equals(version, other.version) && commentCount == other.commentCount;
+    }
+
+    public String getClaimETag() {
+        return "\"v" + version + "-c" + commentCount + "\"";
+    }
+
+    public String getCommentsETag() {
+        return "\"c" + commentCount + "\"";
+    }
+
+    public long getClaimLastModified() {
+        LocalDateTime lastModified = updatedAt;
+        if (lastCommentAt != null && (lastModified == null || lastCommentAt.isAfter(lastModified))) {
+            lastModified = lastCommentAt;
+        }
+        return toEpochMilli(lastModified);
+    }
+
+    public long getCommentsLastModified() {
+        return toEpochMilli(lastCommentAt);
+    }
+
+    // Timestamps are written with LocalDateTime.now(), i.e. in the JVM's zone
+    private static long toEpochMilli(LocalDateTime time) {
+        return time == null ? -1 : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,54 @@
+package com.ycompany.claim.repository;
+
+import com.ycompany.claim.entity.ClaimStatsCounter;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ClaimStatsCounterRepository extends JpaRepository<ClaimStatsCounter, ClaimStatsCounter.Key> {
+
+    /**
+     * Adds to one slot of a bucket; returns 0 when the slot row does not
+     * exist yet. The persistence context is left alone, so entities the
+     * caller loaded stay managed. Native because Hibernate's H2 dialect
+     * renders the double parameter cast in the JPQL version as invalid SQL.
+     */
+    @Modifying
+    @Query(value = "UPDATE claim_stats_counters SET claim_count = claim_count + :count, total_amount = total_amount + :amount " +
+           "WHERE dimension = :dimension AND bucket = :bucket AND slot = :slot", nativeQuery = true)
+    int increment(@Param("dimension") String dimension,
+                  @Param("bucket") String bucket,
+                  @Param("slot") int slot,
+                  @Param("count") long count,
+                  @Param("amount") double amount);
+
+    @Query("SELECT c.slot FROM ClaimStatsCounter c WHERE c.dimension = :dimension AND c.bucket = :bucket")
+    List<Integer> findSlots(@Param("dimension") String dimension, @Param("bucket") String bucket);
+
+    /**
+     * Every bucket summed over its slots: (dimension, bucket, count, amount).
+     */
+    @Query("SELECT c.dimension, c.bucket, SUM(c.claimCount), SUM(c.totalAmount) FROM ClaimStatsCounter c " +
+           "WHERE c.dimension <> 'RECONCILIATION' " +
+           "GROUP BY c.dimension, c.bucket")
+    List<Object[]> sumBuckets();
+
+    /**
+     * Locks the reconciliation row unless another replica holds it (lock
+     * timeout -2 is Hibernate's SKIP LOCKED); empty when it does.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM ClaimStatsCounter c " +
+           "WHERE c.dimension = 'RECONCILIATION'")
+    List<ClaimStatsCounter> lockReconciliation();
+}
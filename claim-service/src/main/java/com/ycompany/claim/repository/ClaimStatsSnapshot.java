@@ -0,0 +1,72 @@
+package com.ycompany.claim.repository;
+
+import com.ycompany.claim.entity.Claim;
+import com.ycompany.common.dto.ClaimSummaryDTO;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a claim that decide which statistics buckets it counts in,
+ * plus its amount. A write moves a claim's contribution from the snapshot
+ * before it to the snapshot after it.
+ */
+public class ClaimStatsSnapshot {
+    private final String status;
+    private final String claimType;
+    private final String supervisorId;
+    private final double claimAmount;
+    private final LocalDate createdDay;
+
+    public ClaimStatsSnapshot(String status, String claimType, String supervisorId, Double claimAmount,
+                              LocalDateTime createdAt) {
+        this(status, claimType, supervisorId, claimAmount == null ? 0 : claimAmount, createdAt.toLocalDate());
+    }
+
+    private ClaimStatsSnapshot(String status, String claimType, String supervisorId, double claimAmount,
+                               LocalDate createdDay) {
+        this.status = status;
+        this.claimType = claimType;
+        this.supervisorId = supervisorId;
+        this.claimAmount = claimAmount;
+        this.createdDay = createdDay;
+    }
+
+    public static ClaimStatsSnapshot of(Claim claim) {
+        return new ClaimStatsSnapshot(claim.getStatus(), claim.getClaimType(), claim.getSupervisorId(),
+                claim.getClaimAmount(), claim.getCreatedAt());
+    }
+
+    public static ClaimStatsSnapshot of(ClaimSummaryDTO claim) {
+        return new ClaimStatsSnapshot(claim.getStatus(), claim.getClaimType(), claim.getSupervisorId(),
+                claim.getClaimAmount(), claim.getCreatedAt());
+    }
+
+    public ClaimStatsSnapshot withStatus(String status) {
+        return new ClaimStatsSnapshot(status, claimType, supervisorId, claimAmount, createdDay);
+    }
+
+    public ClaimStatsSnapshot withSupervisorId(String supervisorId) {
+        return new ClaimStatsSnapshot(status, claimType, supervisorId, claimAmount, createdDay);
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getClaimType() {
+        return claimType;
+    }
+
+    public String getSupervisorId() {
+        return supervisorId;
+    }
+
+    public double getClaimAmount() {
+        return claimAmount;
+    }
+
+    public LocalDate getCreatedDay() {
+        return createdDay;
+    }
+}
@@ -1,13 +1,54 @@
 package com.ycompany.claim.repository;
 
 import com.ycompany.claim.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByClaimId(Long claimId);
-}
+    List<Comment> findByClaimIdInOrderByCreatedAtAscIdAsc(Collection<Long> claimIds);
+    long countByClaimId(Long claimId);
+
+    /**
+     * Keyset page of a claim's comments, newest first. {@code cursor} is the id
+     * of the last comment of the previous page; ordering is (createdAt, id).
+     */
+    @Query("SELECT c FROM Comment c WHERE c.claim.id = :claimId " +
+           "AND (:cursor IS NULL " +
+           "  OR c.createdAt < (SELECT k.createdAt FROM Comment k WHERE k.id = :cursor) " +
+           "  OR (c.createdAt = (SELECT k.createdAt FROM Comment k WHERE k.id = :cursor) AND c.id < :cursor)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<Comment> findPageByClaimId(@Param("claimId") Long claimId,
+                                    @Param("cursor") Long cursor,
+                                    Pageable pageable);
+
+    /**
+     * The newest {@code limit} comments of each given claim, oldest first.
+     * Comments are ranked newest first within their claim in one pass.
+     */
+    @Query("SELECT c FROM Comment c WHERE c.id IN (" +
+           "  SELECT r.id FROM (" +
+           "    SELECT n.id AS id, row_number() OVER (PARTITION BY n.claim.id ORDER BY n.createdAt DESC, n.id DESC) AS recency " +
+           "    FROM Comment n WHERE n.claim.id IN :claimIds) r " +
+           "  WHERE r.recency <= :limit) " +
+           "ORDER BY c.createdAt, c.id")
+    List<Comment> findLatestByClaimIdIn(@Param("claimIds") Collection<Long> claimIds,
+                                        @Param("limit") long limit);
 
+    @Query("SELECT c.claim.id, COUNT(c) FROM Comment c WHERE c.claim.id IN :claimIds GROUP BY c.claim.id")
+    List<Object[]> countByClaimIdIn(@Param("claimIds") Collection<Long> claimIds);
+
+    /**
+     * Keyset page of (id, claim id, text) rows in id order, for rebuilding the
+     * in-memory search index.
+     */
+    @Query("SELECT c.id, c.claim.id, c.text FROM Comment c WHERE c.id > :afterId ORDER BY c.id")
+    List<Object[]> findTextPage(@Param("afterId") long afterId, Pageable pageable);
+}
@@ -0,0 +1,32 @@
+package com.ycompany.claim.repository;
+
+import com.ycompany.claim.entity.WorkflowOutbox;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WorkflowOutboxRepository extends JpaRepository<WorkflowOutbox, Long> {
+
+    /**
+     * Locks the oldest due entries, skipping rows already locked by another
+     * relay (lock timeout -2 is Hibernate's SKIP LOCKED), so several
+     * claim-service replicas can drain the outbox without double-starting.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM WorkflowOutbox o WHERE o.nextAttemptAt <= :now ORDER BY o.id")
+    List<WorkflowOutbox> lockDue(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT MIN(o.createdAt) FROM WorkflowOutbox o")
+    LocalDateTime findOldestCreatedAt();
+}
@@ -0,0 +1,228 @@
+package com.ycompany.claim.service;
+
+import com.ycompany.claim.config.ConditionalOnClaimApi;
+import com.ycompany.common.dto.ClaimEventDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fans committed claim changes out to the Server-Sent Events subscribers of
+ * GET /claims/events. Events are published when the writing transaction
+ * commits, so a rolled back write is never announced.
+ *
+ * Publishing never blocks: every subscriber has a buffer of at most
+ * claim.events.buffer-size events. While it has events, a subscriber is
+ * drained by a sender thread of its own, taken from a pool that grows and
+ * shrinks with the number of subscribers sending at once. A send is a
+ * blocking servlet write, so a client that stops reading (full TCP window)
+ * stalls only its own thread until the connector's write timeout fails the
+ * write and closes the stream. When a slow client's buffer is full its
+ * buffered events are dropped and replaced by one RESYNC event, after which
+ * the client reloads what it shows.
+ *
+ * Only this instance's writes are seen. With several claim-service replicas a
+ * client hears about the writes of the replica it is connected to, so the UI
+ * keeps a slow poll next to the stream.
+ */
+@Service
+@ConditionalOnClaimApi
+public class ClaimEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimEventBus.class);
+
+    // Queue entry standing for an SSE comment line that keeps idle connections open
+    private static final Object HEARTBEAT = new Object();
+
+    // Client reconnect delay after the stream ends (emitter timeout, replica restart)
+    private static final long RECONNECT_DELAY_MS = 3000;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${claim.events.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${claim.events.max-subscribers:1000}")
+    private int maxSubscribers;
+
+    @Value("${claim.events.timeout:30m}")
+    private Duration timeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private ExecutorService sender;
+    private Counter droppedCounter;
+
+    @PostConstruct
+    public void init() {
+        sender = Executors.newCachedThreadPool(new CustomizableThreadFactory("claim-events-"));
+        Gauge.builder("claim.events.subscribers", subscribers, Set::size)
+                .description("Open claim event streams")
+                .register(meterRegistry);
+        droppedCounter = Counter.builder("claim.events.dropped")
+                .description("Claim events dropped because a subscriber's buffer was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the events of one customer's claims, of one claim, or
+     * of all claims when both are null. Returns null when
+     * claim.events.max-subscribers streams are already open.
+     */
+    public SseEmitter subscribe(String customerId, Long claimId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        return subscribe(emitter, customerId, claimId) ? emitter : null;
+    }
+
+    boolean subscribe(SseEmitter emitter, String customerId, Long claimId) {
+        if (subscribers.size() >= maxSubscribers) {
+            return false;
+        }
+        Subscriber subscriber = new Subscriber(emitter, customerId, claimId);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // Commits the response headers at once, so the client sees the stream open
+        subscriber.offer(HEARTBEAT);
+        return true;
+    }
+
+    /**
+     * Publishes {@code event} once the current transaction commits, or right
+     * away outside a transaction.
+     */
+    public void publish(ClaimEventDTO event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dispatch(event);
+            }
+        });
+    }
+
+    private void dispatch(ClaimEventDTO event) {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.matches(event)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${claim.events.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        if (sender != null) {
+            sender.shutdown();
+        }
+    }
+
+    private class Subscriber {
+        final SseEmitter emitter;
+        final String customerId;
+        final Long claimId;
+
+        // Guarded by this
+        private final Deque<Object> buffer = new ArrayDeque<>();
+        private boolean draining;
+        private boolean retrySent;
+
+        Subscriber(SseEmitter emitter, String customerId, Long claimId) {
+            this.emitter = emitter;
+            this.customerId = customerId;
+            this.claimId = claimId;
+        }
+
+        boolean matches(ClaimEventDTO event) {
+            return (customerId == null || customerId.equals(event.getCustomerId()))
+                    && (claimId == null || claimId.equals(event.getClaimId()));
+        }
+
+        synchronized void offer(Object item) {
+            if (item == HEARTBEAT && !buffer.isEmpty()) {
+                return;
+            }
+            if (buffer.size() >= bufferSize) {
+                droppedCounter.increment(buffer.size());
+                buffer.clear();
+                item = new ClaimEventDTO(ClaimEventDTO.RESYNC, null, null);
+            }
+            buffer.add(item);
+            if (!draining) {
+                draining = true;
+                sender.execute(this::drain);
+            }
+        }
+
+        // Sends until the buffer is empty; offer() starts another drain for later events
+        private void drain() {
+            while (true) {
+                Object item;
+                synchronized (this) {
+                    item = buffer.poll();
+                    if (item == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    send(item);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away or the emitter already completed
+                    logger.debug("Closing claim event stream: {}", e.getMessage());
+                    subscribers.remove(this);
+                    synchronized (this) {
+                        buffer.clear();
+                        draining = false;
+                    }
+                    emitter.completeWithError(e);
+                    return;
+                }
+            }
+        }
+
+        private void send(Object item) throws IOException {
+            SseEmitter.SseEventBuilder event = SseEmitter.event();
+            if (!retrySent) {
+                event.reconnectTime(RECONNECT_DELAY_MS);
+                retrySent = true;
+            }
+            if (item == HEARTBEAT) {
+                event.comment("heartbeat");
+            } else {
+                event.data(item, MediaType.APPLICATION_JSON);
+            }
+            emitter.send(event);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ycompany.claim.service;
+
+import com.ycompany.claim.entity.Claim;
+
+import java.util.List;
+
+/**
+ * Full-text index over claim descriptions and comments, kept current by the
+ * claim writes in {@link ClaimService}. Writes are called inside the writing
+ * transaction and take effect with it. Chosen by claim.search.index, see
+ * {@link com.ycompany.claim.config.SearchConfig}.
+ */
+public interface ClaimSearchIndex {
+
+    /**
+     * Indexes new claims, or claims whose description changed. The claims
+     * must have ids.
+     */
+    void indexClaims(List<Claim> claims);
+
+    void indexComment(Long claimId, String text);
+
+    /**
+     * Ids of the claims matching every word of {@code query}, best match
+     * first, skipping the first {@code offset}.
+     */
+    List<Long> search(String query, int offset, int limit);
+}
@@ -1,25 +1,82 @@
 package com.ycompany.claim.service;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.ycompany.claim.config.CacheConfig;
+import com.ycompany.claim.config.ConditionalOnClaimApi;
 import com.ycompany.claim.entity.Claim;
+import com.ycompany.claim.entity.ClaimStatus;
 import com.ycompany.claim.entity.Comment;
+import com.ycompany.claim.entity.WorkflowOutbox;
+import com.ycompany.claim.exception.ClaimConflictException;
 import com.ycompany.claim.repository.ClaimRepository;
+import com.ycompany.claim.repository.ClaimRevision;
+import com.ycompany.claim.repository.ClaimStatsSnapshot;
 import com.ycompany.claim.repository.CommentRepository;
+import com.ycompany.claim.repository.WorkflowOutboxRepository;
+import com.ycompany.common.dto.BulkClaimResultDTO;
 import com.ycompany.common.dto.ClaimDTO;
+import com.ycompany.common.dto.ClaimEventDTO;
+import com.ycompany.common.dto.ClaimStatsDTO;
+import com.ycompany.common.dto.ClaimStatusDTO;
+import com.ycompany.common.dto.ClaimSummaryDTO;
 import com.ycompany.common.dto.CommentDTO;
+import com.ycompany.common.dto.CursorPageDTO;
+import com.ycompany.common.dto.SupervisorAssignmentDTO;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+// Every public method is timed as claim.service{class,method,exception}
 @Service
+@ConditionalOnClaimApi
+@Timed(value = "claim.service", percentiles = {0.5, 0.99}, histogram = true)
 public class ClaimService {
     
     private static final Logger logger = LoggerFactory.getLogger(ClaimService.class);
     
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    // Matches hibernate.jdbc.batch_size and the sequence allocation size
+    private static final int INSERT_BATCH_SIZE = 50;
+    // Claim ids per IN list, well below PostgreSQL's 32767 bind parameters per statement
+    static final int ID_BATCH_SIZE = 1000;
+    // Read-then-update rounds an unconditional supervisor assignment gets under concurrent writes
+    private static final int ASSIGN_ATTEMPTS = 3;
+    
     @Autowired
     private ClaimRepository claimRepository;
     
@@ -27,13 +84,136 @@ public class ClaimService {
     private CommentRepository commentRepository;
     
     @Autowired
-    private TemporalWorkflowService temporalWorkflowService;
+    private WorkflowOutboxRepository workflowOutboxRepository;
     
     @Autowired
     private PolicyService policyService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Autowired
+    private Validator validator;
+    
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @Autowired
+    private ClaimSearchIndex claimSearchIndex;
+    
+    @Autowired
+    private ClaimStatsService claimStatsService;
+    
+    @Autowired
+    private ClaimEventBus claimEventBus;
+    
+    // Number of most recent comments embedded in claim reads
+    @Value("${claim.comments.preview-size:5}")
+    private int commentPreviewSize;
 
     @Transactional
     public ClaimDTO createClaim(ClaimDTO claimDTO) {
+        Claim claim = toNewClaim(claimDTO);
+        
+        Claim savedClaim = claimRepository.save(claim);
+        claimSearchIndex.indexClaims(List.of(savedClaim));
+        claimStatsService.recordCreated(List.of(ClaimStatsSnapshot.of(savedClaim)));
+        claimEventBus.publish(newClaimEvent(savedClaim));
+        
+        // Queue the Temporal workflow start in the same transaction; WorkflowOutboxRelay
+        // starts it after commit, so Temporal being slow or down never affects this request
+        workflowOutboxRepository.save(newOutboxEntry(savedClaim));
+        
+        // A new claim has no comments yet, so skip the comment queries
+        return convertToDTO(savedClaim, savedClaim.getDocumentUrls(), Collections.emptyList(), 0);
+    }
+
+    /**
+     * Creates many claims at once. Each item is validated on its own; valid
+     * items and their workflow outbox entries are inserted with JDBC batching
+     * in one transaction.
+     *
+     * @return one result per input item, in request order
+     */
+    public List<BulkClaimResultDTO> createClaims(List<ClaimDTO> claimDTOs) {
+        List<BulkClaimResultDTO> results = new ArrayList<>(claimDTOs.size());
+        List<BulkClaimResultDTO> accepted = new ArrayList<>();
+        List<Claim> claims = new ArrayList<>();
+        
+        for (int i = 0; i < claimDTOs.size(); i++) {
+            ClaimDTO claimDTO = claimDTOs.get(i);
+            BulkClaimResultDTO result = new BulkClaimResultDTO();
+            result.setIndex(i);
+            results.add(result);
+            
+            List<String> errors = validateForBulk(claimDTO);
+            if (!errors.isEmpty()) {
+                result.setStatus("INVALID");
+                result.setErrors(errors);
+                continue;
+            }
+            claims.add(toNewClaim(claimDTO));
+            accepted.add(result);
+        }
+        
+        if (claims.isEmpty()) {
+            return results;
+        }
+        
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int from = 0; from < claims.size(); from += INSERT_BATCH_SIZE) {
+                List<Claim> batch = claims.subList(from, Math.min(from + INSERT_BATCH_SIZE, claims.size()));
+                claimRepository.saveAll(batch);
+                workflowOutboxRepository.saveAll(batch.stream().map(this::newOutboxEntry).collect(Collectors.toList()));
+                claimSearchIndex.indexClaims(batch);
+                claimStatsService.recordCreated(batch.stream().map(ClaimStatsSnapshot::of).collect(Collectors.toList()));
+                batch.forEach(claim -> claimEventBus.publish(newClaimEvent(claim)));
+                entityManager.flush();
+                entityManager.clear();
+            }
+        });
+        
+        for (int i = 0; i < claims.size(); i++) {
+            Claim claim = claims.get(i);
+            BulkClaimResultDTO result = accepted.get(i);
+            result.setStatus("CREATED");
+            result.setClaimId(claim.getId());
+            result.setPolicyNumber(claim.getPolicyNumber());
+        }
+        logger.info("Bulk created {} of {} claims", claims.size(), claimDTOs.size());
+        return results;
+    }
+
+    private List<String> validateForBulk(ClaimDTO claimDTO) {
+        if (claimDTO == null) {
+            return List.of("Claim is required");
+        }
+        return validator.validate(claimDTO).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    private static ClaimEventDTO newClaimEvent(Claim claim) {
+        ClaimEventDTO event = new ClaimEventDTO(ClaimEventDTO.CLAIM_CREATED, claim.getId(), claim.getCustomerId());
+        event.setStatus(claim.getStatus());
+        event.setVersion(claim.getVersion());
+        return event;
+    }
+
+    private WorkflowOutbox newOutboxEntry(Claim claim) {
+        WorkflowOutbox entry = new WorkflowOutbox();
+        entry.setClaimId(claim.getId());
+        return entry;
+    }
+
+    private Claim toNewClaim(ClaimDTO claimDTO) {
         Claim claim = new Claim();
         claim.setCustomerId(claimDTO.getCustomerId());
         
@@ -48,52 +228,167 @@ public class ClaimService {
         claim.setClaimType(claimDTO.getClaimType());
         claim.setDescription(claimDTO.getDescription());
         claim.setClaimAmount(claimDTO.getClaimAmount());
-        claim.setStatus("PENDING");
+        claim.setStatus(ClaimStatus.PENDING.name());
         if (claimDTO.getDocumentUrls() != null) {
-            claim.setDocumentUrls(claimDTO.getDocumentUrls());
-        }
-        
-        Claim savedClaim = claimRepository.save(claim);
-        
-        // Initiate Temporal workflow - wrap in try-catch to prevent transaction rollback
-        // if Temporal is unavailable, the claim should still be saved
-        try {
-            temporalWorkflowService.startClaimWorkflow(savedClaim.getId());
-            logger.info("Successfully started Temporal workflow for claim {}", savedClaim.getId());
-        } catch (Exception e) {
-            // Log the error but don't fail the claim creation
-            // The claim is already saved, so we just log the Temporal workflow failure
-            logger.error("Failed to start Temporal workflow for claim {}: {}", savedClaim.getId(), e.getMessage(), e);
+            claim.setDocumentUrls(new ArrayList<>(claimDTO.getDocumentUrls()));
         }
-        
-        return convertToDTO(savedClaim);
+        return claim;
     }
 
+    @Transactional(readOnly = true)
     public ClaimDTO getClaimById(Long id) {
+        ClaimRevision current = claimRepository.findRevisionById(id)
+                .orElseThrow(() -> new RuntimeException("Claim not found with id: " + id));
+        return getClaimById(id, current);
+    }
+
+    /**
+     * Returns the claim, from the claims cache if the cached copy is still at
+     * {@code current}. Cached copies can be stale: the cache is per replica,
+     * and a reader's put is deferred to its commit like a writer's evict, so
+     * it can land after one. Checking every hit against the revision turns a
+     * stale copy into a miss instead of an answer.
+     */
+    @Transactional(readOnly = true)
+    public ClaimDTO getClaimById(Long id, ClaimRevision current) {
+        Cache cache = cacheManager.getCache(CacheConfig.CLAIMS_CACHE);
+        ClaimDTO cached = cache.get(id, ClaimDTO.class);
+        if (cached != null && ClaimRevision.of(cached).isSameAs(current)) {
+            return cached;
+        }
         Claim claim = claimRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Claim not found with id: " + id));
-        return convertToDTO(claim);
+        ClaimDTO loaded = convertToDTO(claim);
+        cache.put(id, loaded);
+        return loaded;
+    }
+
+    /**
+     * Returns the claim's current revision for conditional GETs: one aggregate
+     * query over the claim row and its comment index. It is read before any
+     * body is, so the validators are never newer than the representation
+     * served after.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ClaimRevision> getClaimRevision(Long id) {
+        return claimRepository.findRevisionById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<ClaimDTO> getClaimsByCustomerId(String customerId) {
-        return claimRepository.findByCustomerId(customerId)
-                .stream()
-                .map(this::convertToDTO)
+        return convertToDTOs(claimRepository.findWithDocumentsByCustomerId(customerId));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ClaimSummaryDTO> listClaims(String status, String claimType, String supervisorId,
+                                                     String customerId, LocalDateTime createdFrom,
+                                                     LocalDateTime createdTo, Long cursor, Integer limit) {
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<ClaimSummaryDTO> rows = claimRepository.findSummaryPage(cursor, status, claimType, supervisorId,
+                customerId, createdFrom, createdTo, PageRequest.of(0, pageSize + 1));
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<ClaimSummaryDTO> items = hasMore ? rows.subList(0, pageSize) : rows;
+        Long nextCursor = items.isEmpty() ? null : items.get(items.size() - 1).getId();
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
+    }
+
+    /**
+     * Full-text search over claim descriptions and comments, best match first.
+     * The cursor is the number of results already returned, so pages stay
+     * stable only while the matching claims are not being written.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ClaimSummaryDTO> searchClaims(String query, Long cursor, Integer limit) {
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        int offset = cursor == null || cursor < 0 ? 0 : (int) Math.min(cursor, Integer.MAX_VALUE - MAX_PAGE_SIZE - 1);
+        
+        List<Long> ids = claimSearchIndex.search(query, offset, pageSize + 1);
+        boolean hasMore = ids.size() > pageSize;
+        List<Long> pageIds = hasMore ? ids.subList(0, pageSize) : ids;
+        if (pageIds.isEmpty()) {
+            return new CursorPageDTO<>(Collections.emptyList(), null, false);
+        }
+        
+        Map<Long, ClaimSummaryDTO> summariesById = claimRepository.findSummariesByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(ClaimSummaryDTO::getId, Function.identity()));
+        List<ClaimSummaryDTO> items = pageIds.stream()
+                .map(summariesById::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        return new CursorPageDTO<>(items, (long) offset + pageIds.size(), hasMore);
     }
 
+    public ClaimStatsDTO getStats(LocalDate from, LocalDate to) {
+        return claimStatsService.getStats(from, to);
+    }
+
+    @Transactional(readOnly = true)
     public List<ClaimDTO> getAllClaims() {
-        return claimRepository.findAll()
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return convertToDTOs(claimRepository.findAllWithDocuments());
+    }
+
+    /**
+     * Writes every claim as newline-delimited JSON. Claims are read through a
+     * forward-only cursor in chunks of {@link ClaimRepository#EXPORT_FETCH_SIZE};
+     * each chunk's documents and comments are loaded in one query apiece and
+     * the persistence context is cleared afterwards, so memory stays flat
+     * regardless of table size. The stream is flushed but not closed.
+     *
+     * @return the number of claims written
+     */
+    @Transactional(readOnly = true)
+    public long exportClaims(OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ClaimDTO.class)
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        long exported = 0;
+        
+        try (Stream<Claim> claims = claimRepository.streamAllOrderById();
+             SequenceWriter sequence = writer.writeValues(out)) {
+            List<Claim> chunk = new ArrayList<>(ClaimRepository.EXPORT_FETCH_SIZE);
+            Iterator<Claim> iterator = claims.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == ClaimRepository.EXPORT_FETCH_SIZE || !iterator.hasNext()) {
+                    for (ClaimDTO dto : convertChunkForExport(chunk)) {
+                        sequence.write(dto);
+                    }
+                    exported += chunk.size();
+                    chunk.clear();
+                    entityManager.clear();
+                    sequence.flush();
+                }
+            }
+        }
+        if (exported > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        logger.info("Exported {} claims", exported);
+        return exported;
     }
 
+    /**
+     * Updates the editable fields. Flushes before returning so that losing
+     * the version check to a concurrent commit surfaces here as
+     * {@link ClaimConflictException} (409) rather than at commit.
+     */
     @Transactional
+    @CacheEvict(value = CacheConfig.CLAIMS_CACHE, key = "#id")
     public ClaimDTO updateClaim(Long id, ClaimDTO claimDTO) {
         Claim claim = claimRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Claim not found with id: " + id));
+        if (claimDTO.getVersion() != null && !claimDTO.getVersion().equals(claim.getVersion())) {
+            throw new ClaimConflictException("Claim " + id + " was modified concurrently (expected version "
+                    + claimDTO.getVersion() + ", current " + claim.getVersion() + ")");
+        }
         
+        boolean descriptionChanged = !Objects.equals(claim.getDescription(), claimDTO.getDescription());
+        ClaimStatsSnapshot before = ClaimStatsSnapshot.of(claim);
         claim.setClaimType(claimDTO.getClaimType());
         claim.setDescription(claimDTO.getDescription());
         claim.setClaimAmount(claimDTO.getClaimAmount());
@@ -101,42 +396,194 @@ public class ClaimService {
             claim.setDocumentUrls(claimDTO.getDocumentUrls());
         }
         
-        Claim updatedClaim = claimRepository.save(claim);
+        Claim updatedClaim;
+        try {
+            updatedClaim = claimRepository.saveAndFlush(claim);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ClaimConflictException("Claim " + id + " was modified concurrently");
+        }
+        if (descriptionChanged) {
+            claimSearchIndex.indexClaims(List.of(updatedClaim));
+        }
+        claimStatsService.recordChange(before, ClaimStatsSnapshot.of(updatedClaim));
         return convertToDTO(updatedClaim);
     }
 
+    /**
+     * Assigns a supervisor with one conditional UPDATE on the version read
+     * just before it, so the statistics move the claim from exactly the
+     * supervisor and amount that were read. Throws {@link ClaimConflictException}
+     * if {@code expectedVersion} is given and no longer matches; without it a
+     * concurrent write only makes the assignment retry.
+     */
     @Transactional
+    @CacheEvict(value = CacheConfig.CLAIMS_CACHE, key = "#id")
+    public SupervisorAssignmentDTO assignSupervisor(Long id, String supervisorId, Long expectedVersion) {
+        for (int attempt = 1; ; attempt++) {
+            ClaimSummaryDTO claim = claimRepository.findSummaryById(id)
+                    .orElseThrow(() -> new RuntimeException("Claim not found with id: " + id));
+            if (expectedVersion != null && !expectedVersion.equals(claim.getVersion())) {
+                throw new ClaimConflictException("Claim " + id + " is no longer at version " + expectedVersion);
+            }
+            int updated = claimRepository.assignSupervisor(id, supervisorId, claim.getVersion(), LocalDateTime.now());
+            if (updated > 0) {
+                ClaimStatsSnapshot before = ClaimStatsSnapshot.of(claim);
+                claimStatsService.recordChange(before, before.withSupervisorId(supervisorId));
+                ClaimEventDTO event = new ClaimEventDTO(ClaimEventDTO.SUPERVISOR_ASSIGNED, id, claim.getCustomerId());
+                event.setSupervisorId(supervisorId);
+                event.setVersion(claim.getVersion() + 1);
+                claimEventBus.publish(event);
+                return new SupervisorAssignmentDTO(id, supervisorId, claim.getVersion() + 1);
+            }
+            if (expectedVersion != null || attempt == ASSIGN_ATTEMPTS) {
+                throw new ClaimConflictException("Claim " + id + " was modified concurrently");
+            }
+        }
+    }
+
+    /**
+     * Appends a comment. The claim is only referenced by id (an existence check
+     * plus an uninitialized proxy for the foreign key), never loaded.
+     */
+    @Transactional
+    @CacheEvict(value = CacheConfig.CLAIMS_CACHE, key = "#claimId")
     public CommentDTO addComment(Long claimId, CommentDTO commentDTO) {
-        Claim claim = claimRepository.findById(claimId)
-                .orElseThrow(() -> new RuntimeException("Claim not found with id: " + claimId));
+        if (!claimRepository.existsById(claimId)) {
+            throw new RuntimeException("Claim not found with id: " + claimId);
+        }
         
         Comment comment = new Comment();
         comment.setText(commentDTO.getText());
         comment.setAuthorId(commentDTO.getAuthorId());
         comment.setAuthorName(commentDTO.getAuthorName());
-        comment.setClaim(claim);
+        comment.setClaim(claimRepository.getReferenceById(claimId));
         
         Comment savedComment = commentRepository.save(comment);
+        claimSearchIndex.indexComment(claimId, savedComment.getText());
+        // Addressed to the claim only; customer streams list claims, not comments
+        ClaimEventDTO event = new ClaimEventDTO(ClaimEventDTO.COMMENT_ADDED, claimId, null);
+        event.setCommentId(savedComment.getId());
+        claimEventBus.publish(event);
         return convertToCommentDTO(savedComment);
     }
 
-    public List<CommentDTO> getCommentsByClaimId(Long claimId) {
-        return commentRepository.findByClaimId(claimId)
-                .stream()
+    /**
+     * Returns one page of a claim's comments, newest first. Pass the previous
+     * page's {@code nextCursor} to continue.
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDTO<CommentDTO> getCommentsByClaimId(Long claimId, Long cursor, Integer limit) {
+        int pageSize = limit == null || limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        
+        List<Comment> rows = commentRepository.findPageByClaimId(claimId, cursor, PageRequest.of(0, pageSize + 1));
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<CommentDTO> items = (hasMore ? rows.subList(0, pageSize) : rows).stream()
                 .map(this::convertToCommentDTO)
                 .collect(Collectors.toList());
+        Long nextCursor = items.isEmpty() ? null : items.get(items.size() - 1).getId();
+        return new CursorPageDTO<>(items, nextCursor, hasMore);
     }
 
+    /**
+     * Moves a claim to {@code status} with a single compare-and-set UPDATE,
+     * allowed only from the states {@link ClaimStatus#sourcesOf} permits; the
+     * source that matched is the status the statistics move the claim from.
+     * Repeating the transition a claim already made is a no-op; any other
+     * lost race or disallowed move throws {@link ClaimConflictException}.
+     */
     @Transactional
-    public ClaimDTO updateClaimStatus(Long id, String status) {
-        Claim claim = claimRepository.findById(id)
+    @CacheEvict(value = CacheConfig.CLAIMS_CACHE, key = "#id")
+    public ClaimStatusDTO updateClaimStatus(Long id, ClaimStatus status) {
+        String previous = null;
+        for (ClaimStatus source : ClaimStatus.sourcesOf(status)) {
+            if (claimRepository.transitionStatus(id, status.name(), source.name(), LocalDateTime.now()) > 0) {
+                previous = source.name();
+                break;
+            }
+        }
+        // After a successful UPDATE the row stays locked by it, so this plain read is stable
+        ClaimSummaryDTO claim = claimRepository.findSummaryById(id)
                 .orElseThrow(() -> new RuntimeException("Claim not found with id: " + id));
-        claim.setStatus(status);
-        Claim updatedClaim = claimRepository.save(claim);
-        return convertToDTO(updatedClaim);
+        if (previous == null) {
+            if (!status.name().equals(claim.getStatus())) {
+                throw new ClaimConflictException("Claim " + id + " cannot move from " + claim.getStatus() + " to " + status);
+            }
+        } else {
+            ClaimStatsSnapshot after = ClaimStatsSnapshot.of(claim);
+            claimStatsService.recordChange(after.withStatus(previous), after);
+            ClaimEventDTO event = new ClaimEventDTO(ClaimEventDTO.STATUS_CHANGED, id, claim.getCustomerId());
+            event.setStatus(status.name());
+            event.setVersion(claim.getVersion());
+            claimEventBus.publish(event);
+        }
+        return new ClaimStatusDTO(id, status.name());
     }
 
+    /**
+     * Converts a batch of claims (documents already fetched) using one query
+     * for the comment counts and one for the latest comments per
+     * {@link #ID_BATCH_SIZE} claims, so the statement count grows with the
+     * number of id batches rather than the number of claims.
+     */
+    private List<ClaimDTO> convertToDTOs(List<Claim> claims) {
+        if (claims.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> claimIds = claims.stream().map(Claim::getId).collect(Collectors.toList());
+        Map<Long, Long> countsByClaimId = new HashMap<>();
+        Map<Long, List<Comment>> commentsByClaimId = new HashMap<>();
+        for (int from = 0; from < claimIds.size(); from += ID_BATCH_SIZE) {
+            List<Long> batch = claimIds.subList(from, Math.min(from + ID_BATCH_SIZE, claimIds.size()));
+            commentRepository.countByClaimIdIn(batch)
+                    .forEach(row -> countsByClaimId.put((Long) row[0], (Long) row[1]));
+            commentRepository.findLatestByClaimIdIn(batch, commentPreviewSize)
+                    .forEach(comment -> commentsByClaimId
+                            .computeIfAbsent(comment.getClaim().getId(), id -> new ArrayList<>())
+                            .add(comment));
+        }
+        return claims.stream()
+                .map(claim -> convertToDTO(claim, claim.getDocumentUrls(),
+                        commentsByClaimId.getOrDefault(claim.getId(), Collections.emptyList()),
+                        countsByClaimId.getOrDefault(claim.getId(), 0L)))
+                .collect(Collectors.toList());
+    }
+
+    private List<ClaimDTO> convertChunkForExport(List<Claim> claims) {
+        List<Long> claimIds = claims.stream().map(Claim::getId).collect(Collectors.toList());
+        Map<Long, List<String>> documentsByClaimId = claimRepository.findDocumentUrlsByClaimIdIn(claimIds)
+                .stream()
+                .collect(Collectors.groupingBy(row -> (Long) row[0],
+                        Collectors.mapping(row -> (String) row[1], Collectors.toList())));
+        Map<Long, List<Comment>> commentsByClaimId = commentRepository
+                .findByClaimIdInOrderByCreatedAtAscIdAsc(claimIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getClaim().getId()));
+        // The export is a full dump, so it keeps every comment
+        return claims.stream()
+                .map(claim -> {
+                    List<Comment> comments = commentsByClaimId.getOrDefault(claim.getId(), Collections.emptyList());
+                    return convertToDTO(claim,
+                            documentsByClaimId.getOrDefault(claim.getId(), Collections.emptyList()),
+                            comments, comments.size());
+                })
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Converts a single claim with its latest comments. The count query is
+     * skipped when the preview is not full, since the preview is then complete.
+     */
     private ClaimDTO convertToDTO(Claim claim) {
+        List<Comment> latest = new ArrayList<>(commentRepository.findPageByClaimId(claim.getId(), null,
+                PageRequest.of(0, commentPreviewSize)));
+        Collections.reverse(latest);
+        long commentCount = latest.size() < commentPreviewSize
+                ? latest.size() : commentRepository.countByClaimId(claim.getId());
+        return convertToDTO(claim, claim.getDocumentUrls(), latest, commentCount);
+    }
+
+    private ClaimDTO convertToDTO(Claim claim, List<String> documentUrls, List<Comment> comments, long commentCount) {
         ClaimDTO dto = new ClaimDTO();
         dto.setId(claim.getId());
         dto.setCustomerId(claim.getCustomerId());
@@ -147,11 +594,14 @@ public class ClaimService {
         dto.setStatus(claim.getStatus());
         dto.setCreatedAt(claim.getCreatedAt());
         dto.setUpdatedAt(claim.getUpdatedAt());
-        dto.setDocumentUrls(claim.getDocumentUrls());
+        // Copy so the DTO never holds a Hibernate collection (it may outlive the session in the cache)
+        dto.setDocumentUrls(new ArrayList<>(documentUrls));
         dto.setSupervisorId(claim.getSupervisorId());
-        dto.setComments(claim.getComments().stream()
+        dto.setVersion(claim.getVersion());
+        dto.setComments(comments.stream()
                 .map(this::convertToCommentDTO)
                 .collect(Collectors.toList()));
+        dto.setCommentCount(commentCount);
         return dto;
     }
 
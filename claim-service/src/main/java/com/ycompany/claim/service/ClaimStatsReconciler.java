@@ -0,0 +1,129 @@
+package com.ycompany.claim.service;
+
+import com.ycompany.claim.config.ConditionalOnClaimApi;
+import com.ycompany.claim.entity.ClaimStatsDimension;
+import com.ycompany.claim.repository.ClaimRepository;
+import com.ycompany.claim.repository.ClaimStatsCounterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Periodically compares the statistics counters with aggregates of the
+ * claims table and corrects any bucket that drifted (rows changed outside
+ * claim-service, counters added before a bucket existed, a lost write).
+ *
+ * Aggregates and counters are read in one SERIALIZABLE transaction, so both
+ * describe the same instant (H2's REPEATABLE READ snapshots each table only
+ * when it is first read; on Postgres a lone serializable reader behaves like
+ * REPEATABLE READ). The differences are then added to the counters in a
+ * separate transaction, which is exact even while claims keep being written.
+ * The reconciliation counter row is locked with SKIP LOCKED for the whole
+ * run, so with several replicas only one reconciles at a time.
+ */
+@Component
+@ConditionalOnClaimApi
+@ConditionalOnProperty(name = "claim.stats.reconcile.enabled", havingValue = "true", matchIfMissing = true)
+public class ClaimStatsReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimStatsReconciler.class);
+
+    // Summing doubles in a different order differs in the last bits; ignore less than a cent
+    private static final double AMOUNT_TOLERANCE = 0.01;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private ClaimStatsCounterRepository counterRepository;
+
+    @Autowired
+    private ClaimStatsService claimStatsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate snapshotTransaction;
+    private TransactionTemplate correctionTransaction;
+    private Counter correctionsCounter;
+
+    @PostConstruct
+    public void init() {
+        snapshotTransaction = new TransactionTemplate(transactionManager);
+        snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        correctionTransaction = new TransactionTemplate(transactionManager);
+        correctionTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        correctionsCounter = Counter.builder("claim.stats.corrections")
+                .description("Statistics buckets corrected by reconciliation against the claims table")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${claim.stats.reconcile.initial-delay-ms:60000}",
+               fixedDelayString = "${claim.stats.reconcile.interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            Integer corrected = snapshotTransaction.execute(status -> reconcileLocked());
+            if (corrected == null) {
+                logger.debug("Claim statistics reconciliation is running on another replica");
+            } else if (corrected > 0) {
+                claimStatsService.reload();
+            }
+        } catch (Exception e) {
+            logger.error("Claim statistics reconciliation failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private Integer reconcileLocked() {
+        if (counterRepository.lockReconciliation().isEmpty()) {
+            return null;
+        }
+        Map<ClaimStatsService.Key, ClaimStatsService.Delta> drift = new TreeMap<>();
+        add(drift, ClaimStatsDimension.STATUS, claimRepository.sumByStatus(), 1);
+        add(drift, ClaimStatsDimension.CLAIM_TYPE, claimRepository.sumByClaimType(), 1);
+        add(drift, ClaimStatsDimension.SUPERVISOR, claimRepository.sumBySupervisor(), 1);
+        add(drift, ClaimStatsDimension.DAY, claimRepository.sumByDay(), 1);
+        for (Object[] row : counterRepository.sumBuckets()) {
+            ClaimStatsDimension dimension = ClaimStatsDimension.valueOf((String) row[0]);
+            add(drift, dimension, List.<Object[]>of(new Object[]{row[1], row[2], row[3]}), -1);
+        }
+        drift.values().removeIf(delta -> delta.count == 0 && Math.abs(delta.amount) < AMOUNT_TOLERANCE);
+        if (drift.isEmpty()) {
+            logger.debug("Claim statistics match the claims table");
+            return 0;
+        }
+
+        correctionTransaction.executeWithoutResult(status -> drift.forEach((key, delta) -> {
+            logger.warn("Correcting claim statistics bucket {} by {} claims, {} amount", key, delta.count, delta.amount);
+            claimStatsService.increment(key, 0, delta);
+        }));
+        correctionsCounter.increment(drift.size());
+        return drift.size();
+    }
+
+    // rows are (bucket, count, amount)
+    private static void add(Map<ClaimStatsService.Key, ClaimStatsService.Delta> drift, ClaimStatsDimension dimension,
+                            List<Object[]> rows, int sign) {
+        for (Object[] row : rows) {
+            ClaimStatsService.Key key = new ClaimStatsService.Key(dimension, String.valueOf(row[0]));
+            double amount = row[2] == null ? 0 : ((Number) row[2]).doubleValue();
+            drift.computeIfAbsent(key, k -> new ClaimStatsService.Delta())
+                    .add(sign * ((Number) row[1]).longValue(), sign * amount);
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.ycompany.claim.service;
+
+import com.ycompany.claim.config.ConditionalOnClaimApi;
+import com.ycompany.claim.entity.ClaimStatsDimension;
+import com.ycompany.claim.repository.ClaimStatsCounterRepository;
+import com.ycompany.claim.repository.ClaimStatsSnapshot;
+import com.ycompany.common.dto.ClaimStatsDTO;
+import com.ycompany.common.dto.ClaimTotalsDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Claim statistics kept as counters instead of being computed from the
+ * claims table. Claim writes call {@link #recordCreated} / {@link #recordChange}
+ * inside their transaction, which adds to the {@code claim_stats_counters}
+ * rows of the affected buckets, so the counters commit or roll back with the
+ * claim. Reads are served from LongAdder/DoubleAdder copies in memory: local
+ * commits are added to them right away and they are reloaded from the table
+ * every claim.stats.refresh-interval-ms, which brings in other replicas'
+ * writes and replaces any local drift. {@link ClaimStatsReconciler} corrects
+ * the table itself against the claims table.
+ */
+@Service
+@ConditionalOnClaimApi
+public class ClaimStatsService implements SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimStatsService.class);
+
+    // SQLSTATE of a unique constraint violation
+    private static final String DUPLICATE_KEY = "23505";
+
+    @Autowired
+    private ClaimStatsCounterRepository counterRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Slot rows per bucket; more slots mean less row lock contention and more rows to sum
+    @Value("${claim.stats.slots:8}")
+    private int slots;
+
+    private volatile Map<ClaimStatsDimension, Map<String, Totals>> totals = emptyTotals();
+    private volatile LocalDateTime refreshedAt;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        transactionTemplate.executeWithoutResult(status -> createSlots(new Key(ClaimStatsDimension.RECONCILIATION, ""), 1));
+        reload();
+    }
+
+    public void recordCreated(List<ClaimStatsSnapshot> claims) {
+        record(Collections.emptyList(), claims);
+    }
+
+    public void recordChange(ClaimStatsSnapshot before, ClaimStatsSnapshot after) {
+        record(List.of(before), List.of(after));
+    }
+
+    /**
+     * Moves the contribution of {@code before} to {@code after}. Counters are
+     * updated in a fixed bucket order, all in one randomly picked slot, so
+     * two transactions never wait on each other's rows in opposite order.
+     */
+    private void record(List<ClaimStatsSnapshot> before, List<ClaimStatsSnapshot> after) {
+        Map<Key, Delta> deltas = new TreeMap<>();
+        before.forEach(claim -> addContribution(deltas, claim, -1));
+        after.forEach(claim -> addContribution(deltas, claim, 1));
+        deltas.values().removeIf(Delta::isZero);
+        if (deltas.isEmpty()) {
+            return;
+        }
+        int slot = ThreadLocalRandom.current().nextInt(slots);
+        deltas.forEach((key, delta) -> increment(key, slot, delta));
+        afterCommit(() -> deltas.forEach(this::applyLocally));
+    }
+
+    private static void addContribution(Map<Key, Delta> deltas, ClaimStatsSnapshot claim, int sign) {
+        double amount = sign * claim.getClaimAmount();
+        deltas.computeIfAbsent(new Key(ClaimStatsDimension.STATUS, claim.getStatus()), key -> new Delta()).add(sign, amount);
+        deltas.computeIfAbsent(new Key(ClaimStatsDimension.CLAIM_TYPE, claim.getClaimType()), key -> new Delta()).add(sign, amount);
+        deltas.computeIfAbsent(new Key(ClaimStatsDimension.DAY, claim.getCreatedDay().toString()), key -> new Delta()).add(sign, amount);
+        if (claim.getSupervisorId() != null) {
+            deltas.computeIfAbsent(new Key(ClaimStatsDimension.SUPERVISOR, claim.getSupervisorId()), key -> new Delta()).add(sign, amount);
+        }
+    }
+
+    /**
+     * Adds to one slot of a bucket in the current transaction, creating the
+     * bucket's slot rows first if this is its first claim.
+     */
+    void increment(Key key, int slot, Delta delta) {
+        String dimension = key.dimension.name();
+        if (counterRepository.increment(dimension, key.bucket, slot, delta.count, delta.amount) == 0) {
+            createSlots(key, slots);
+            counterRepository.increment(dimension, key.bucket, slot, delta.count, delta.amount);
+        }
+    }
+
+    /**
+     * Inserts the bucket's empty slot rows that do not exist yet, in the
+     * current transaction. Two transactions may do this for the same new
+     * bucket at once; the second insert waits for the first transaction and
+     * then fails with a duplicate key. Each insert goes straight to the JDBC
+     * connection under its own savepoint, so a duplicate is rolled back alone
+     * and never reaches Hibernate, which would mark the whole claim write for
+     * rollback. The same statements run on every database.
+     */
+    private void createSlots(Key key, int count) {
+        List<Integer> existing = counterRepository.findSlots(key.dimension.name(), key.bucket);
+        entityManager.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO claim_stats_counters " +
+                    "(dimension, bucket, slot, claim_count, total_amount) VALUES (?, ?, ?, 0, 0)")) {
+                for (int slot = 0; slot < count; slot++) {
+                    if (existing.contains(slot)) {
+                        continue;
+                    }
+                    insert.setString(1, key.dimension.name());
+                    insert.setString(2, key.bucket);
+                    insert.setInt(3, slot);
+                    Savepoint savepoint = connection.setSavepoint();
+                    try {
+                        insert.executeUpdate();
+                        connection.releaseSavepoint(savepoint);
+                    } catch (SQLException e) {
+                        if (!DUPLICATE_KEY.equals(e.getSQLState())) {
+                            throw e;
+                        }
+                        connection.rollback(savepoint);
+                        logger.debug("Statistics bucket {} slot {} was created concurrently", key, slot);
+                    }
+                }
+            }
+        });
+    }
+
+    private void applyLocally(Key key, Delta delta) {
+        Totals bucket = totals.get(key.dimension).computeIfAbsent(key.bucket, name -> new Totals());
+        bucket.count.add(delta.count);
+        bucket.amount.add(delta.amount);
+    }
+
+    @Scheduled(initialDelayString = "${claim.stats.refresh-interval-ms:5000}",
+               fixedDelayString = "${claim.stats.refresh-interval-ms:5000}")
+    public void refresh() {
+        try {
+            reload();
+        } catch (Exception e) {
+            logger.warn("Claim statistics refresh failed, serving counters from {}: {}", refreshedAt, e.getMessage());
+        }
+    }
+
+    /**
+     * Replaces the in-memory counters with the table's. A local commit whose
+     * after-commit update races the reload may be counted twice until the
+     * next one.
+     */
+    void reload() {
+        Map<ClaimStatsDimension, Map<String, Totals>> loaded = emptyTotals();
+        LocalDateTime now = LocalDateTime.now();
+        for (Object[] row : counterRepository.sumBuckets()) {
+            Totals bucket = new Totals();
+            bucket.count.add(((Number) row[2]).longValue());
+            bucket.amount.add(((Number) row[3]).doubleValue());
+            loaded.get(ClaimStatsDimension.valueOf((String) row[0])).put((String) row[1], bucket);
+        }
+        totals = loaded;
+        refreshedAt = now;
+    }
+
+    /**
+     * Current statistics, with days limited to {@code from}..{@code to}
+     * inclusive. Cost depends on the number of buckets and days asked for,
+     * not on the number of claims.
+     */
+    public ClaimStatsDTO getStats(LocalDate from, LocalDate to) {
+        Map<ClaimStatsDimension, Map<String, Totals>> current = totals;
+        ClaimStatsDTO stats = new ClaimStatsDTO();
+        stats.setByStatus(toDTOs(current.get(ClaimStatsDimension.STATUS)));
+        stats.setByClaimType(toDTOs(current.get(ClaimStatsDimension.CLAIM_TYPE)));
+        stats.setBySupervisor(toDTOs(current.get(ClaimStatsDimension.SUPERVISOR)));
+
+        Map<String, Totals> days = current.get(ClaimStatsDimension.DAY);
+        Map<String, ClaimTotalsDTO> byDay = new TreeMap<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            Totals bucket = days.get(day.toString());
+            if (bucket != null && bucket.count.sum() != 0) {
+                byDay.put(day.toString(), bucket.toDTO());
+            }
+        }
+        stats.setByDay(byDay);
+
+        // Every claim has exactly one status
+        long count = 0;
+        double amount = 0;
+        for (ClaimTotalsDTO status : stats.getByStatus().values()) {
+            count += status.getCount();
+            amount += status.getTotalAmount();
+        }
+        stats.setTotal(new ClaimTotalsDTO(count, amount));
+        stats.setRefreshedAt(refreshedAt);
+        return stats;
+    }
+
+    private static Map<String, ClaimTotalsDTO> toDTOs(Map<String, Totals> buckets) {
+        Map<String, ClaimTotalsDTO> dtos = new TreeMap<>();
+        buckets.forEach((bucket, bucketTotals) -> {
+            if (bucketTotals.count.sum() != 0) {
+                dtos.put(bucket, bucketTotals.toDTO());
+            }
+        });
+        return dtos;
+    }
+
+    private static Map<ClaimStatsDimension, Map<String, Totals>> emptyTotals() {
+        Map<ClaimStatsDimension, Map<String, Totals>> empty = new EnumMap<>(ClaimStatsDimension.class);
+        for (ClaimStatsDimension dimension : ClaimStatsDimension.values()) {
+            empty.put(dimension, new ConcurrentHashMap<>());
+        }
+        return empty;
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    /**
+     * A statistics bucket, ordered by dimension and name.
+     */
+    static final class Key implements Comparable<Key> {
+        final ClaimStatsDimension dimension;
+        final String bucket;
+
+        Key(ClaimStatsDimension dimension, String bucket) {
+            this.dimension = dimension;
+            this.bucket = bucket;
+        }
+
+        @Override
+        public int compareTo(Key other) {
+            int byDimension = dimension.compareTo(other.dimension);
+            return byDimension != 0 ? byDimension : bucket.compareTo(other.bucket);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && compareTo((Key) o) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dimension, bucket);
+        }
+
+        @Override
+        public String toString() {
+            return dimension + "/" + bucket;
+        }
+    }
+
+    /**
+     * A change to a bucket's claim count and total amount.
+     */
+    static final class Delta {
+        long count;
+        double amount;
+
+        void add(long count, double amount) {
+            this.count += count;
+            this.amount += amount;
+        }
+
+        boolean isZero() {
+            return count == 0 && amount == 0;
+        }
+    }
+
+    private static final class Totals {
+        final LongAdder count = new LongAdder();
+        final DoubleAdder amount = new DoubleAdder();
+
+        ClaimTotalsDTO toDTO() {
+            return new ClaimTotalsDTO(count.sum(), amount.sum());
+        }
+    }
+}
@@ -0,0 +1,254 @@
+package com.ycompany.claim.service;
+
+import com.ycompany.claim.entity.Claim;
+import com.ycompany.claim.repository.ClaimRepository;
+import com.ycompany.claim.repository.CommentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index held in this JVM, for databases without full-text search
+ * (H2 in development and tests). Built from the database on startup and
+ * updated when a writing transaction commits, so it only sees the writes of
+ * this instance: use the Postgres index whenever claim-service runs
+ * replicated.
+ *
+ * Words are lower-cased, stop words dropped and plurals folded. Matches must
+ * contain every query word and are ranked by tf-idf, a description
+ * occurrence counting more than a comment one.
+ */
+public class InMemoryClaimSearchIndex implements ClaimSearchIndex, SmartInitializingSingleton {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryClaimSearchIndex.class);
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final double COMMENT_WEIGHT = 0.4;
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have", "in",
+            "is", "it", "its", "of", "on", "or", "that", "the", "this", "to", "was", "were", "will", "with");
+
+    // Best match first: higher score, then newer claim
+    private static final Comparator<ScoredClaim> RANKING = Comparator
+            .comparingDouble((ScoredClaim scored) -> scored.score)
+            .thenComparingLong(scored -> scored.claimId)
+            .reversed();
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> claim id -> {occurrences in the description, occurrences in comments}
+    private final Map<String, Map<Long, int[]>> postings = new HashMap<>();
+
+    // Distinct description terms of every indexed claim, to unindex a replaced description
+    private final Map<Long, Set<String>> descriptionTerms = new HashMap<>();
+
+    /**
+     * Runs before the web server and schedulers start, so no write can
+     * interleave with the rebuild.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        long lastId = 0;
+        List<Object[]> rows;
+        while (!(rows = claimRepository.findDescriptionPage(lastId, PageRequest.of(0, REBUILD_PAGE_SIZE))).isEmpty()) {
+            for (Object[] row : rows) {
+                applyDescription((Long) row[0], terms((String) row[1]));
+            }
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        long comments = 0;
+        lastId = 0;
+        while (!(rows = commentRepository.findTextPage(lastId, PageRequest.of(0, REBUILD_PAGE_SIZE))).isEmpty()) {
+            for (Object[] row : rows) {
+                applyComment((Long) row[1], terms((String) row[2]));
+            }
+            comments += rows.size();
+            lastId = (Long) rows.get(rows.size() - 1)[0];
+        }
+        logger.info("Built in-memory claim search index: {} claims, {} comments, {} terms",
+                descriptionTerms.size(), comments, postings.size());
+    }
+
+    @Override
+    public void indexClaims(List<Claim> claims) {
+        Map<Long, List<String>> termsByClaimId = new HashMap<>();
+        for (Claim claim : claims) {
+            termsByClaimId.put(claim.getId(), terms(claim.getDescription()));
+        }
+        afterCommit(() -> termsByClaimId.forEach(this::applyDescription));
+    }
+
+    @Override
+    public void indexComment(Long claimId, String text) {
+        List<String> terms = terms(text);
+        afterCommit(() -> applyComment(claimId, terms));
+    }
+
+    @Override
+    public List<Long> search(String query, int offset, int limit) {
+        Set<String> queryTerms = new LinkedHashSet<>(terms(query));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+        lock.readLock().lock();
+        try {
+            List<Map<Long, int[]>> lists = new ArrayList<>();
+            for (String term : queryTerms) {
+                Map<Long, int[]> list = postings.get(term);
+                if (list == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(list);
+            }
+            // Walk the rarest term's postings and look the claim up in the others
+            lists.sort(Comparator.comparingInt(Map::size));
+            double[] idf = new double[lists.size()];
+            for (int i = 0; i < idf.length; i++) {
+                idf[i] = Math.log(1.0 + (double) descriptionTerms.size() / lists.get(i).size());
+            }
+
+            int wanted = (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+            PriorityQueue<ScoredClaim> top = new PriorityQueue<>(RANKING.reversed());
+            candidates:
+            for (Map.Entry<Long, int[]> candidate : lists.get(0).entrySet()) {
+                double score = 0;
+                for (int i = 0; i < idf.length; i++) {
+                    int[] counts = i == 0 ? candidate.getValue() : lists.get(i).get(candidate.getKey());
+                    if (counts == null) {
+                        continue candidates;
+                    }
+                    score += idf[i] * (1.0 + Math.log(counts[0] + COMMENT_WEIGHT * counts[1]));
+                }
+                top.add(new ScoredClaim(candidate.getKey(), score));
+                if (top.size() > wanted) {
+                    top.poll();
+                }
+            }
+
+            List<ScoredClaim> ranked = new ArrayList<>(top);
+            ranked.sort(RANKING);
+            List<Long> ids = new ArrayList<>(Math.max(0, ranked.size() - offset));
+            for (int i = offset; i < ranked.size(); i++) {
+                ids.add(ranked.get(i).claimId);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void applyDescription(Long claimId, List<String> terms) {
+        lock.writeLock().lock();
+        try {
+            Set<String> previous = descriptionTerms.put(claimId, new LinkedHashSet<>(terms));
+            if (previous != null) {
+                for (String term : previous) {
+                    Map<Long, int[]> list = postings.get(term);
+                    int[] counts = list.get(claimId);
+                    counts[0] = 0;
+                    if (counts[1] == 0) {
+                        list.remove(claimId);
+                        if (list.isEmpty()) {
+                            postings.remove(term);
+                        }
+                    }
+                }
+            }
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new HashMap<>())
+                        .computeIfAbsent(claimId, key -> new int[2])[0]++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void applyComment(Long claimId, List<String> terms) {
+        lock.writeLock().lock();
+        try {
+            descriptionTerms.putIfAbsent(claimId, new LinkedHashSet<>());
+            for (String term : terms) {
+                postings.computeIfAbsent(term, key -> new HashMap<>())
+                        .computeIfAbsent(claimId, key -> new int[2])[1]++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies an index change once the current transaction commits, or right
+     * away outside a transaction; a rolled back write never reaches the index.
+     */
+    private static void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private static List<String> terms(String text) {
+        if (text == null) {
+            return Collections.emptyList();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String word : NON_WORD.split(text.toLowerCase(Locale.ROOT))) {
+            if (!word.isEmpty() && !STOP_WORDS.contains(word)) {
+                terms.add(stem(word));
+            }
+        }
+        return terms;
+    }
+
+    // Folds regular English plurals: "policies" -> "policy", "windows" -> "window"
+    private static String stem(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+
+    private static class ScoredClaim {
+        final long claimId;
+        final double score;
+
+        ScoredClaim(long claimId, double score) {
+            this.claimId = claimId;
+            this.score = score;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ycompany.claim.service;
+
+import com.ycompany.claim.config.ConditionalOnClaimApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style id source for policy numbers: 41 bits of milliseconds since
+ * a custom epoch, 10 bits of node id and 12 bits of per-millisecond sequence.
+ * Ids are unique per node without any coordination, and unique across
+ * replicas as long as each replica has a distinct node id.
+ *
+ * The timestamp and sequence live in one AtomicLong updated by CAS, so the
+ * hot path never locks or sleeps. If the clock stalls or steps backwards the
+ * sequence keeps counting and overflows into the timestamp, borrowing
+ * milliseconds from the future rather than reusing a value.
+ */
+@Component
+@ConditionalOnClaimApi
+public class PolicyNumberSequence {
+
+    private static final Logger logger = LoggerFactory.getLogger(PolicyNumberSequence.class);
+
+    private static final long EPOCH = 1767225600000L; // 2026-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    @Value("${claim.policy.node-id:-1}")
+    private long configuredNodeId;
+
+    private long nodeId;
+
+    // (millis since EPOCH << SEQUENCE_BITS) | sequence of the last issued id
+    private final AtomicLong state = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        if (configuredNodeId >= 0) {
+            if (configuredNodeId > MAX_NODE_ID) {
+                throw new IllegalStateException("claim.policy.node-id must be between 0 and " + MAX_NODE_ID);
+            }
+            nodeId = configuredNodeId;
+        } else {
+            nodeId = deriveNodeId();
+            logger.warn("claim.policy.node-id not set, derived node id {} from host and pid; "
+                    + "set it explicitly per replica to guarantee unique policy numbers", nodeId);
+        }
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long now = System.currentTimeMillis() - EPOCH;
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (state.compareAndSet(last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & SEQUENCE_MASK;
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    private static long deriveNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "unknown";
+        }
+        String identity = host + "/" + ManagementFactory.getRuntimeMXBean().getName();
+        return (identity.hashCode() & 0x7fffffff) % (MAX_NODE_ID + 1);
+    }
+}
@@ -1,16 +1,17 @@
 package com.ycompany.claim.service;
 
+import com.ycompany.claim.config.ConditionalOnClaimApi;
 import com.ycompany.claim.repository.ClaimRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
-import java.util.Random;
 
 @Service
+@ConditionalOnClaimApi
 public class PolicyService {
     
     private static final Logger logger = LoggerFactory.getLogger(PolicyService.class);
@@ -18,47 +19,26 @@ public class PolicyService {
     @Autowired
     private ClaimRepository claimRepository;
     
-    private final Random random = new Random();
+    @Autowired
+    private PolicyNumberSequence policyNumberSequence;
+    
     private static final String POLICY_PREFIX = "POL";
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
     
     /**
-     * Generates a unique policy number for a customer
-     * Format: POL-{customerId}-{date}-{random4digits}
-     * Example: POL-CUST001-20260119-1234
+     * Generates a unique policy number for a customer without touching the
+     * database. The suffix is a node-unique sequence id in base 36.
+     * Format: POL-{customerId}-{date}-{sequenceId}
+     * Example: POL-CUST001-20260119-SPV99L4YT4W
      * 
      * @param customerId The customer ID
      * @return A unique policy number
      */
     public String generateUniquePolicyNumber(String customerId) {
-        String policyNumber;
-        int attempts = 0;
-        int maxAttempts = 10;
-        
-        do {
-            // Format: POL-{customerId}-{YYYYMMDD}-{4digitRandom}
-            String dateStr = LocalDateTime.now().format(DATE_FORMATTER);
-            int randomNum = 1000 + random.nextInt(9000); // 4-digit random number (1000-9999)
-            policyNumber = String.format("%s-%s-%s-%d", POLICY_PREFIX, customerId, dateStr, randomNum);
-            
-            attempts++;
-            
-            // Check if policy number already exists
-            if (!claimRepository.existsByPolicyNumber(policyNumber)) {
-                logger.info("Generated unique policy number: {} for customer: {}", policyNumber, customerId);
-                return policyNumber;
-            }
-            
-            logger.warn("Policy number {} already exists, generating new one (attempt {})", policyNumber, attempts);
-            
-        } while (attempts < maxAttempts);
-        
-        // Fallback: add timestamp to ensure uniqueness
-        long timestamp = System.currentTimeMillis();
-        policyNumber = String.format("%s-%s-%s-%d-%d", POLICY_PREFIX, customerId, 
-                LocalDateTime.now().format(DATE_FORMATTER), random.nextInt(10000), timestamp % 10000);
-        
-        logger.warn("Using fallback policy number generation: {} for customer: {}", policyNumber, customerId);
+        String dateStr = LocalDate.now().format(DATE_FORMATTER);
+        String suffix = Long.toString(policyNumberSequence.nextId(), Character.MAX_RADIX).toUpperCase();
+        String policyNumber = String.format("%s-%s-%s-%s", POLICY_PREFIX, customerId, dateStr, suffix);
+        logger.debug("Generated policy number: {} for customer: {}", policyNumber, customerId);
         return policyNumber;
     }
     
@@ -0,0 +1,220 @@
+package com.ycompany.claim.service;
+
+import com.ycompany.claim.entity.Claim;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Postgres full-text search on a {@code search_vector} tsvector column of
+ * {@code claims} with a GIN index. The description is weighted A and comment
+ * text B, so description matches rank first. A claim's vector is rebuilt from
+ * its description and comments when the description is written, and a new
+ * comment's text is appended to it with one UPDATE, in the transaction that
+ * wrote the text.
+ *
+ * The column is not mapped on {@link Claim}. Writes maintain it from the
+ * first request on, so startup adds it if information_schema does not list
+ * it; ADD COLUMN takes an ACCESS EXCLUSIVE lock even with IF NOT EXISTS, so it
+ * is never issued once the column exists, and gives up after a short
+ * lock_timeout rather than queue behind a long reader with all claim traffic
+ * queued behind it. Rows without a vector are then backfilled in batches that
+ * concurrently starting replicas share out, and the GIN index is built with
+ * CREATE INDEX CONCURRENTLY by one replica at a time, both on a background
+ * thread. Until the backfill is done, searches miss the claims it has not
+ * reached yet.
+ */
+public class PostgresClaimSearchIndex implements ClaimSearchIndex, SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresClaimSearchIndex.class);
+
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+    private static final String COLUMN_LOCK_TIMEOUT = "5s";
+    private static final String INDEX_NAME = "idx_claims_search_vector";
+    // Session advisory lock held by the replica building the index
+    private static final long INDEX_BUILD_LOCK = 7_400_231_001L;
+
+    private static final String DOCUMENT_VECTOR =
+            "setweight(to_tsvector('english', coalesce(c.description, '')), 'A') || " +
+            "setweight(to_tsvector('english', coalesce(" +
+            "(SELECT string_agg(m.text, ' ' ORDER BY m.id) FROM comments m WHERE m.claim_id = c.id), '')), 'B')";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private volatile boolean running;
+    private volatile Thread preparer;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        addColumnIfMissing();
+        running = true;
+        preparer = new Thread(this::backfillAndBuildIndex, "claim-search-index");
+        preparer.setDaemon(true);
+        preparer.start();
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (preparer != null) {
+            preparer.interrupt();
+        }
+    }
+
+    private void addColumnIfMissing() {
+        try (Connection connection = dataSource.getConnection()) {
+            if (columnExists(connection)) {
+                return;
+            }
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET LOCAL lock_timeout = '" + COLUMN_LOCK_TIMEOUT + "'");
+                statement.execute("ALTER TABLE claims ADD COLUMN IF NOT EXISTS search_vector tsvector");
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+            logger.info("Added the claim search column");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not add the claim search column: " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean columnExists(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT 1 FROM information_schema.columns " +
+                     "WHERE table_schema = current_schema() AND table_name = 'claims' " +
+                     "AND column_name = 'search_vector'")) {
+            return rs.next();
+        }
+    }
+
+    private void backfillAndBuildIndex() {
+        try {
+            backfill();
+            buildIndexIfMissing();
+        } catch (Exception e) {
+            if (running) {
+                logger.warn("Claim search index setup stopped: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void backfill() {
+        long backfilled = 0;
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> entityManager.createNativeQuery(
+                    "UPDATE claims c SET search_vector = " + DOCUMENT_VECTOR + " WHERE c.id IN (" +
+                    "SELECT id FROM claims WHERE search_vector IS NULL ORDER BY id LIMIT " + BACKFILL_BATCH_SIZE +
+                    " FOR UPDATE SKIP LOCKED)")
+                    .executeUpdate());
+            backfilled += updated;
+        } while (updated > 0 && running);
+        if (backfilled > 0) {
+            logger.info("Backfilled the search vector of {} claims", backfilled);
+        }
+    }
+
+    // CREATE INDEX CONCURRENTLY does not block writes, but cannot run inside a transaction block
+    private void buildIndexIfMissing() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            connection.setAutoCommit(true);
+            if (!queryBoolean(statement, "SELECT pg_try_advisory_lock(" + INDEX_BUILD_LOCK + ")")) {
+                return;
+            }
+            try {
+                Boolean valid = indexValidity(statement);
+                if (Boolean.TRUE.equals(valid)) {
+                    return;
+                }
+                if (valid != null) {
+                    // Left INVALID by a build that did not finish
+                    statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + INDEX_NAME);
+                }
+                logger.info("Building the claim search index");
+                statement.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + INDEX_NAME +
+                        " ON claims USING GIN (search_vector)");
+                logger.info("Built the claim search index");
+            } finally {
+                statement.execute("SELECT pg_advisory_unlock(" + INDEX_BUILD_LOCK + ")");
+            }
+        }
+    }
+
+    // Null if the index does not exist
+    private static Boolean indexValidity(Statement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery("SELECT indisvalid FROM pg_index " +
+                "WHERE indexrelid = to_regclass('" + INDEX_NAME + "')")) {
+            return rs.next() ? rs.getBoolean(1) : null;
+        }
+    }
+
+    private static boolean queryBoolean(Statement statement, String sql) throws SQLException {
+        try (ResultSet rs = statement.executeQuery(sql)) {
+            return rs.next() && rs.getBoolean(1);
+        }
+    }
+
+    @Override
+    public void indexClaims(List<Claim> claims) {
+        if (claims.isEmpty()) {
+            return;
+        }
+        // The claim rows (and a changed description) must be written before they are read back
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE claims c SET search_vector = " + DOCUMENT_VECTOR +
+                        " WHERE c.id IN (:ids)")
+                .setParameter("ids", claims.stream().map(Claim::getId).collect(Collectors.toList()))
+                .executeUpdate();
+    }
+
+    @Override
+    public void indexComment(Long claimId, String text) {
+        entityManager.createNativeQuery("UPDATE claims SET search_vector = " +
+                        "coalesce(search_vector, CAST('' AS tsvector)) || setweight(to_tsvector('english', :text), 'B') " +
+                        "WHERE id = :id")
+                .setParameter("text", text)
+                .setParameter("id", claimId)
+                .executeUpdate();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Long> search(String query, int offset, int limit) {
+        List<Number> ids = entityManager.createNativeQuery(
+                        "SELECT c.id FROM claims c, websearch_to_tsquery('english', :query) q " +
+                        "WHERE c.search_vector @@ q " +
+                        "ORDER BY ts_rank_cd(c.search_vector, q) DESC, c.id DESC")
+                .setParameter("query", query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        return ids.stream().map(Number::longValue).collect(Collectors.toList());
+    }
+}
@@ -2,39 +2,53 @@ package com.ycompany.claim.service;
 
 import com.ycompany.claim.workflow.ClaimWorkflowInterface;
 import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowExecutionAlreadyStarted;
 import io.temporal.client.WorkflowOptions;
-import io.temporal.serviceclient.WorkflowServiceStubs;
-import io.temporal.serviceclient.WorkflowServiceStubsOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
+@ConditionalOnProperty(name = "claim.outbox.enabled", havingValue = "true", matchIfMissing = true)
 public class TemporalWorkflowService {
     
-    @Value("${temporal.server.address:localhost:7233}")
-    private String temporalServerAddress;
+    private static final Logger logger = LoggerFactory.getLogger(TemporalWorkflowService.class);
     
-    private WorkflowServiceStubs service;
+    @Autowired
     private WorkflowClient client;
+    
+    @Value("${temporal.task-queue:claim-processing}")
+    private String taskQueue;
+    
+    @Value("${temporal.start-concurrency:16}")
+    private int startConcurrency;
+    
+    private ExecutorService startExecutor;
 
     @PostConstruct
     public void init() {
-        service = WorkflowServiceStubs.newServiceStubs(
-            WorkflowServiceStubsOptions.newBuilder()
-                .setTarget(temporalServerAddress)
-                .build()
-        );
-        client = WorkflowClient.newInstance(service);
+        startExecutor = Executors.newFixedThreadPool(startConcurrency,
+                new CustomizableThreadFactory("temporal-start-"));
     }
 
     public void startClaimWorkflow(Long claimId) {
         ClaimWorkflowInterface workflow = client.newWorkflowStub(
             ClaimWorkflowInterface.class,
             WorkflowOptions.newBuilder()
-                .setTaskQueue("claim-processing")
+                .setTaskQueue(taskQueue)
                 .setWorkflowId("claim-workflow-" + claimId)
                 .build()
         );
@@ -43,10 +57,35 @@ public class TemporalWorkflowService {
         WorkflowClient.start(workflow::processClaim, claimId);
     }
 
+    /**
+     * Starts workflows for many claims in parallel, bounded by
+     * temporal.start-concurrency. A workflow that is already running counts as
+     * started, so retries are idempotent. Failures are logged per claim, not thrown.
+     *
+     * @return the ids of the claims whose workflow is running
+     */
+    public Set<Long> startClaimWorkflows(List<Long> claimIds) {
+        Set<Long> started = ConcurrentHashMap.newKeySet();
+        CompletableFuture<?>[] starts = claimIds.stream()
+            .map(claimId -> CompletableFuture.runAsync(() -> {
+                try {
+                    startClaimWorkflow(claimId);
+                    started.add(claimId);
+                } catch (WorkflowExecutionAlreadyStarted e) {
+                    started.add(claimId);
+                } catch (Exception e) {
+                    logger.error("Failed to start Temporal workflow for claim {}: {}", claimId, e.getMessage());
+                }
+            }, startExecutor))
+            .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(starts).join();
+        return started;
+    }
+
     @PreDestroy
     public void cleanup() {
-        if (service != null) {
-            service.shutdown();
+        if (startExecutor != null) {
+            startExecutor.shutdown();
         }
     }
 }
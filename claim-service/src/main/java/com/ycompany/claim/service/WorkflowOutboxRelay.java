@@ -0,0 +1,133 @@
+package com.ycompany.claim.service;
+
+import com.ycompany.claim.entity.WorkflowOutbox;
+import com.ycompany.claim.repository.WorkflowOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the workflow outbox: starts the Temporal workflow for each due entry
+ * (in parallel, through {@link TemporalWorkflowService#startClaimWorkflows}),
+ * deletes the entries that started and reschedules the rest with exponential
+ * backoff. Claim creation only writes outbox rows, so Temporal latency and
+ * outages never reach the request path. Runs on the API replicas; the
+ * worker profile turns it off with claim.outbox.enabled=false.
+ */
+@Component
+@ConditionalOnProperty(name = "claim.outbox.enabled", havingValue = "true", matchIfMissing = true)
+public class WorkflowOutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowOutboxRelay.class);
+
+    @Autowired
+    private WorkflowOutboxRepository outboxRepository;
+
+    @Autowired
+    private TemporalWorkflowService temporalWorkflowService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${claim.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${claim.outbox.initial-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${claim.outbox.max-backoff:5m}")
+    private Duration maxBackoff;
+
+    private final AtomicLong pendingEntries = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private Counter startedCounter;
+    private Counter failedCounter;
+
+    @PostConstruct
+    public void registerMetrics() {
+        Gauge.builder("claim.outbox.pending", pendingEntries, AtomicLong::get)
+                .description("Workflow starts waiting in the outbox")
+                .register(meterRegistry);
+        Gauge.builder("claim.outbox.lag", lagMillis, lag -> lag.get() / 1000.0)
+                .description("Age of the oldest workflow start waiting in the outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        startedCounter = Counter.builder("claim.outbox.started")
+                .description("Workflows started from the outbox")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("claim.outbox.failures")
+                .description("Failed workflow start attempts, each rescheduled with backoff")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${claim.outbox.poll-interval-ms:1000}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (Exception e) {
+            logger.error("Workflow outbox relay failed: {}", e.getMessage(), e);
+        } finally {
+            refreshLag();
+        }
+    }
+
+    // Row locks are held while Temporal is called; other replicas skip these rows
+    private int relayBatch() {
+        List<WorkflowOutbox> due = outboxRepository.lockDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+        
+        List<Long> claimIds = due.stream().map(WorkflowOutbox::getClaimId).collect(Collectors.toList());
+        Set<Long> started = temporalWorkflowService.startClaimWorkflows(claimIds);
+        
+        LocalDateTime now = LocalDateTime.now();
+        for (WorkflowOutbox entry : due) {
+            if (started.contains(entry.getClaimId())) {
+                outboxRepository.delete(entry);
+            } else {
+                entry.setAttempts(entry.getAttempts() + 1);
+                entry.setNextAttemptAt(now.plus(backoff(entry.getAttempts())));
+                logger.warn("Workflow start for claim {} failed (attempt {}), retrying at {}",
+                        entry.getClaimId(), entry.getAttempts(), entry.getNextAttemptAt());
+            }
+        }
+        startedCounter.increment(started.size());
+        failedCounter.increment(due.size() - started.size());
+        return due.size();
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+
+    private void refreshLag() {
+        pendingEntries.set(outboxRepository.count());
+        LocalDateTime oldest = outboxRepository.findOldestCreatedAt();
+        lagMillis.set(oldest == null ? 0 : Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()));
+    }
+}
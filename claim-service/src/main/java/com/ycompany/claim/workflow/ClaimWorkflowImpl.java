@@ -29,6 +29,11 @@ public class ClaimWorkflowImpl implements ClaimWorkflowInterface {
 
     @Override
     public void approveClaim(Long claimId, String supervisorId, String decision, String comments) {
+        if (approvalDecision != null) {
+            // The first decision stands; a repeated or late signal does not overwrite it
+            logger.info("Ignoring approval signal for claim {}: already decided {}", claimId, approvalDecision);
+            return;
+        }
         logger.info("Received approval signal for claim {}: decision={}, supervisor={}", 
                    claimId, decision, supervisorId);
         this.approvalDecision = decision;
@@ -1,54 +1,171 @@
 package com.ycompany.claim.workflow;
 
 import io.temporal.client.WorkflowClient;
-import io.temporal.serviceclient.WorkflowServiceStubs;
-import io.temporal.serviceclient.WorkflowServiceStubsOptions;
+import io.temporal.opentracing.OpenTracingOptions;
+import io.temporal.opentracing.OpenTracingWorkerInterceptor;
 import io.temporal.worker.Worker;
 import io.temporal.worker.WorkerFactory;
+import io.temporal.worker.WorkerFactoryOptions;
+import io.temporal.worker.WorkerOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.stereotype.Component;
 
-import jakarta.annotation.PostConstruct;
-import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Polls the claim task queue. Concurrency, poller counts and the sticky
+ * workflow cache are bound from temporal.worker.*; throughput and
+ * schedule-to-start latency are reported by the SDK (temporal_workflow_task_*
+ * meters) through the shared client's metrics scope.
+ *
+ * Only runs where temporal.worker.enabled is true (the default locally, the
+ * worker profile in Docker); API replicas run with the client alone. The
+ * worker connects in the background and keeps retrying while Temporal is
+ * unreachable, so it never holds up application startup; until it is
+ * polling, its health contribution is DOWN.
+ */
 @Component
-public class ClaimWorkflowWorker {
-    
-    @Value("${temporal.server.address:localhost:7233}")
-    private String temporalServerAddress;
-    
-    private WorkflowServiceStubs service;
+@ConditionalOnProperty(name = "temporal.worker.enabled", havingValue = "true", matchIfMissing = true)
+public class ClaimWorkflowWorker implements SmartLifecycle, HealthIndicator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClaimWorkflowWorker.class);
+
+    @Autowired
     private WorkflowClient client;
-    private WorkerFactory factory;
-    private Worker worker;
-
-    @PostConstruct
-    public void startWorker() {
-        service = WorkflowServiceStubs.newServiceStubs(
-            WorkflowServiceStubsOptions.newBuilder()
-                .setTarget(temporalServerAddress)
-                .build()
-        );
-        client = WorkflowClient.newInstance(service);
-        factory = WorkerFactory.newInstance(client);
-        worker = factory.newWorker("claim-processing");
-        
+
+    @Autowired
+    private OpenTracingOptions temporalTracingOptions;
+
+    @Value("${temporal.task-queue:claim-processing}")
+    private String taskQueue;
+
+    @Value("${temporal.worker.max-concurrent-workflow-task-executions:200}")
+    private int maxConcurrentWorkflowTaskExecutions;
+
+    @Value("${temporal.worker.max-concurrent-activity-executions:200}")
+    private int maxConcurrentActivityExecutions;
+
+    @Value("${temporal.worker.workflow-task-pollers:5}")
+    private int workflowTaskPollers;
+
+    @Value("${temporal.worker.activity-task-pollers:5}")
+    private int activityTaskPollers;
+
+    @Value("${temporal.worker.sticky-cache-size:600}")
+    private int stickyCacheSize;
+
+    @Value("${temporal.worker.max-workflow-threads:600}")
+    private int maxWorkflowThreads;
+
+    @Value("${temporal.worker.sticky-schedule-to-start-timeout:5s}")
+    private Duration stickyScheduleToStartTimeout;
+
+    @Value("${temporal.worker.start-retry-max-backoff:30s}")
+    private Duration startRetryMaxBackoff;
+
+    @Value("${temporal.worker.shutdown-timeout:30s}")
+    private Duration shutdownTimeout;
+
+    private volatile WorkerFactory factory;
+    private volatile Thread starter;
+    private volatile boolean running;
+    private volatile boolean polling;
+    private volatile String lastStartError;
+
+    @Override
+    public void start() {
+        factory = WorkerFactory.newInstance(client,
+            WorkerFactoryOptions.newBuilder()
+                .setWorkflowCacheSize(stickyCacheSize)
+                .setMaxWorkflowThreadCount(maxWorkflowThreads)
+                // Workflow run and signal spans, parented by the trace context in the Temporal headers
+                .setWorkerInterceptors(new OpenTracingWorkerInterceptor(temporalTracingOptions))
+                .build());
+        Worker worker = factory.newWorker(taskQueue,
+            WorkerOptions.newBuilder()
+                .setMaxConcurrentWorkflowTaskExecutionSize(maxConcurrentWorkflowTaskExecutions)
+                .setMaxConcurrentActivityExecutionSize(maxConcurrentActivityExecutions)
+                .setMaxConcurrentWorkflowTaskPollers(workflowTaskPollers)
+                .setMaxConcurrentActivityTaskPollers(activityTaskPollers)
+                .setStickyQueueScheduleToStartTimeout(stickyScheduleToStartTimeout)
+                .build());
+
         worker.registerWorkflowImplementationTypes(
             com.ycompany.claim.workflow.ClaimWorkflowImpl.class
         );
-        factory.start();
-        
-        System.out.println("Claim Workflow Worker started");
+
+        running = true;
+        starter = new Thread(this::startPolling, "temporal-worker-start");
+        starter.setDaemon(true);
+        starter.start();
+    }
+
+    // WorkerFactory.start() checks the server's capabilities first, which blocks while Temporal is down
+    private void startPolling() {
+        Duration backoff = Duration.ofSeconds(1);
+        while (running) {
+            try {
+                factory.start();
+                polling = true;
+                lastStartError = null;
+                logger.info("Claim workflow worker polling task queue {}", taskQueue);
+                return;
+            } catch (Exception e) {
+                lastStartError = e.getMessage();
+                logger.warn("Claim workflow worker could not start, retrying in {}: {}", backoff, e.getMessage());
+            }
+            try {
+                Thread.sleep(backoff.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = backoff.multipliedBy(2);
+            if (backoff.compareTo(startRetryMaxBackoff) > 0) {
+                backoff = startRetryMaxBackoff;
+            }
+        }
     }
 
-    @PreDestroy
-    public void shutdown() {
+    /**
+     * Stops polling and lets in-flight workflow and activity tasks finish,
+     * up to temporal.worker.shutdown-timeout, before the client is closed.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        if (starter != null) {
+            starter.interrupt();
+        }
         if (factory != null) {
             factory.shutdown();
+            factory.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS);
         }
-        if (service != null) {
-            service.shutdown();
+        polling = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public Health health() {
+        if (polling) {
+            return Health.up().withDetail("taskQueue", taskQueue).build();
+        }
+        Health.Builder health = Health.down().withDetail("taskQueue", taskQueue).withDetail("state", "starting");
+        if (lastStartError != null) {
+            health.withDetail("error", lastStartError);
         }
+        return health.build();
     }
 }
-
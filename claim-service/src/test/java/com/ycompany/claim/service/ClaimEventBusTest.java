@@ -0,0 +1,174 @@
+package com.ycompany.claim.service;
+
+import com.ycompany.common.dto.ClaimEventDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ClaimEventBusTest {
+
+    @Autowired
+    private ClaimEventBus eventBus;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${claim.events.buffer-size}")
+    private int bufferSize;
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    @AfterEach
+    void closeStreams() {
+        emitters.forEach(RecordingEmitter::close);
+    }
+
+    @Test
+    void subscribersOnlyGetTheEventsOfTheirCustomerOrClaim() throws InterruptedException {
+        RecordingEmitter customer = subscribe("CUST-A", null);
+        RecordingEmitter claim = subscribe(null, 2L);
+        RecordingEmitter all = subscribe(null, null);
+
+        eventBus.publish(new ClaimEventDTO(ClaimEventDTO.CLAIM_CREATED, 1L, "CUST-A"));
+        eventBus.publish(new ClaimEventDTO(ClaimEventDTO.CLAIM_CREATED, 2L, "CUST-B"));
+        eventBus.publish(new ClaimEventDTO(ClaimEventDTO.COMMENT_ADDED, 2L, null));
+
+        assertThat(all.next().getClaimId()).isEqualTo(1L);
+        assertThat(all.next().getClaimId()).isEqualTo(2L);
+        assertThat(all.next().getType()).isEqualTo(ClaimEventDTO.COMMENT_ADDED);
+
+        assertThat(customer.next().getClaimId()).isEqualTo(1L);
+        assertThat(customer.none()).isTrue();
+
+        assertThat(claim.next().getType()).isEqualTo(ClaimEventDTO.CLAIM_CREATED);
+        assertThat(claim.next().getType()).isEqualTo(ClaimEventDTO.COMMENT_ADDED);
+        assertThat(claim.none()).isTrue();
+    }
+
+    @Test
+    void eventsArePublishedOnlyWhenTheTransactionCommits() throws InterruptedException {
+        RecordingEmitter emitter = subscribe(null, null);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventBus.publish(new ClaimEventDTO(ClaimEventDTO.CLAIM_CREATED, 10L, "CUST-A"));
+            try {
+                assertThat(emitter.none()).isTrue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(emitter.next().getClaimId()).isEqualTo(10L);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventBus.publish(new ClaimEventDTO(ClaimEventDTO.CLAIM_CREATED, 11L, "CUST-A"));
+            status.setRollbackOnly();
+        });
+        assertThat(emitter.none()).isTrue();
+    }
+
+    @Test
+    void aStalledSubscriberIsSentResyncAndDoesNotHoldUpOthers() throws InterruptedException {
+        // More stalled clients than the old shared sender pool had threads
+        List<RecordingEmitter> stalled = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            stalled.add(subscribe(new RecordingEmitter(1), null, null));
+        }
+        RecordingEmitter healthy = subscribe(null, null);
+
+        // One full buffer each for the stalled clients, then the events that overflow it
+        publishStatusChanges(0, bufferSize);
+        for (long id = 0; id < bufferSize; id++) {
+            assertThat(healthy.next().getClaimId()).isEqualTo(id);
+        }
+        publishStatusChanges(bufferSize, bufferSize + 10);
+        for (long id = bufferSize; id < bufferSize + 10; id++) {
+            assertThat(healthy.next().getClaimId()).isEqualTo(id);
+        }
+
+        RecordingEmitter first = stalled.get(0);
+        first.release();
+        assertThat(first.next().getType()).isEqualTo(ClaimEventDTO.RESYNC);
+        assertThat(first.next().getClaimId()).isEqualTo(bufferSize + 1L);
+    }
+
+    private void publishStatusChanges(long fromId, long toId) {
+        for (long id = fromId; id < toId; id++) {
+            eventBus.publish(new ClaimEventDTO(ClaimEventDTO.STATUS_CHANGED, id, "CUST-A"));
+        }
+    }
+
+    private RecordingEmitter subscribe(String customerId, Long claimId) {
+        return subscribe(new RecordingEmitter(0), customerId, claimId);
+    }
+
+    private RecordingEmitter subscribe(RecordingEmitter emitter, String customerId, Long claimId) {
+        assertThat(eventBus.subscribe(emitter, customerId, claimId)).isTrue();
+        emitters.add(emitter);
+        return emitter;
+    }
+
+    // Records the events sent, and blocks in send() while stalled like a client that stopped reading
+    private static class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<ClaimEventDTO> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch stall;
+        private volatile boolean closed;
+
+        // A stalled emitter blocks from the subscription's first write, the heartbeat
+        RecordingEmitter(int stalled) {
+            stall = new CountDownLatch(stalled);
+        }
+
+        void release() {
+            stall.countDown();
+        }
+
+        // The bus drops the subscriber on its next send
+        void close() {
+            closed = true;
+            release();
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                stall.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            if (closed) {
+                throw new IllegalStateException("Stream closed");
+            }
+            builder.build().stream()
+                    .filter(part -> part.getData() instanceof ClaimEventDTO)
+                    .forEach(part -> events.add((ClaimEventDTO) part.getData()));
+        }
+
+        ClaimEventDTO next() throws InterruptedException {
+            ClaimEventDTO event = events.poll(5, TimeUnit.SECONDS);
+            assertThat(event).as("event within 5s").isNotNull();
+            return event;
+        }
+
+        boolean none() throws InterruptedException {
+            return events.poll(200, TimeUnit.MILLISECONDS) == null;
+        }
+    }
+}
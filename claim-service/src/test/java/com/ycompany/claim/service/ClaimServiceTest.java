@@ -0,0 +1,174 @@
+package com.ycompany.claim.service;
+
+import com.ycompany.claim.config.StatementCounter;
+import com.ycompany.claim.exception.ClaimConflictException;
+import com.ycompany.claim.repository.ClaimRepository;
+import com.ycompany.common.dto.BulkClaimResultDTO;
+import com.ycompany.common.dto.ClaimDTO;
+import com.ycompany.common.dto.CommentDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ClaimServiceTest {
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private TransactionTemplate newTransaction;
+
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Test
+    void readingClaimsOfACustomerTakesTheSameStatementsForFewAndManyClaims() {
+        String fewCustomer = createClaimsWithComments(2, 3);
+        String manyCustomer = createClaimsWithComments(40, 3);
+
+        int fewStatements = countStatements(() -> claimService.getClaimsByCustomerId(fewCustomer));
+        int manyStatements = countStatements(() -> claimService.getClaimsByCustomerId(manyCustomer));
+
+        assertThat(manyStatements).isEqualTo(fewStatements);
+    }
+
+    @Test
+    void claimIdsBeyondOneBatchAreLookedUpInAnotherBatch() {
+        String customer = createClaimsWithComments(ClaimService.ID_BATCH_SIZE + 1, 0);
+        List<ClaimDTO> claims = claimService.getClaimsByCustomerId(customer);
+        ClaimDTO last = claims.get(claims.size() - 1);
+        claimService.addComment(last.getId(), newComment("late"));
+
+        String singleClaimCustomer = createClaimsWithComments(1, 0);
+        int oneBatch = countStatements(() -> claimService.getClaimsByCustomerId(singleClaimCustomer));
+        List<ClaimDTO> reread = new ArrayList<>();
+        int twoBatches = countStatements(() -> reread.addAll(claimService.getClaimsByCustomerId(customer)));
+
+        assertThat(twoBatches).isEqualTo(oneBatch + 2);
+        ClaimDTO rereadLast = reread.stream().filter(claim -> claim.getId().equals(last.getId())).findFirst().orElseThrow();
+        assertThat(rereadLast.getCommentCount()).isEqualTo(1);
+        assertThat(rereadLast.getComments()).extracting(CommentDTO::getText).containsExactly("late");
+    }
+
+    @Test
+    void claimReadsEmbedTheNewestCommentsOldestFirst() {
+        String customer = createClaimsWithComments(2, 0);
+        List<ClaimDTO> created = claimService.getClaimsByCustomerId(customer);
+        Long first = created.get(0).getId();
+        Long second = created.get(1).getId();
+        for (int c = 0; c < 7; c++) {
+            claimService.addComment(first, newComment("first " + c));
+        }
+        claimService.addComment(second, newComment("second 0"));
+
+        Map<Long, ClaimDTO> claims = claimService.getClaimsByCustomerId(customer).stream()
+                .collect(Collectors.toMap(ClaimDTO::getId, Function.identity()));
+
+        assertThat(claims.get(first).getCommentCount()).isEqualTo(7);
+        assertThat(claims.get(first).getComments()).extracting(CommentDTO::getText)
+                .containsExactly("first 2", "first 3", "first 4", "first 5", "first 6");
+        assertThat(claims.get(second).getComments()).extracting(CommentDTO::getText).containsExactly("second 0");
+    }
+
+    @Test
+    void aCachedClaimIsOnlyServedWhileItIsCurrent() {
+        String customer = createClaimsWithComments(1, 0);
+        Long id = claimService.getClaimsByCustomerId(customer).get(0).getId();
+        claimService.getClaimById(id);
+
+        // A hit costs only the revision query
+        assertThat(countStatements(() -> claimService.getClaimById(id))).isEqualTo(1);
+
+        // As if written by another replica, whose evictions never reach this cache
+        jdbcTemplate.update("UPDATE claims SET description = ?, version = version + 1 WHERE id = ?", "Changed elsewhere", id);
+        assertThat(claimService.getClaimById(id).getDescription()).isEqualTo("Changed elsewhere");
+
+        // Far above the ids Hibernate allocates from comments_seq
+        jdbcTemplate.update("INSERT INTO comments (id, claim_id, text, author_id, author_name, created_at) " +
+                "VALUES (?, ?, 'late', 'SUPER001', 'Supervisor', CURRENT_TIMESTAMP)", 1_000_000_000L + id, id);
+        assertThat(claimService.getClaimById(id).getCommentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void anUpdateThatLosesToAConcurrentCommitIsAConflict() {
+        String customer = createClaimsWithComments(1, 0);
+        ClaimDTO claim = claimService.getClaimsByCustomerId(customer).get(0);
+        claim.setVersion(null);
+        claim.setDescription("Edited here");
+
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> {
+            // The update below reuses this read of the current version
+            claimRepository.findById(claim.getId()).orElseThrow();
+            newTransaction.executeWithoutResult(inner -> jdbcTemplate.update(
+                    "UPDATE claims SET description = ?, version = version + 1 WHERE id = ?", "Edited elsewhere", claim.getId()));
+            claimService.updateClaim(claim.getId(), claim);
+        })).isInstanceOf(ClaimConflictException.class);
+
+        assertThat(claimService.getClaimById(claim.getId()).getDescription()).isEqualTo("Edited elsewhere");
+    }
+
+    private int countStatements(Runnable read) {
+        statementCounter.begin();
+        read.run();
+        return statementCounter.end();
+    }
+
+    private String createClaimsWithComments(int claims, int commentsPerClaim) {
+        String customerId = "CUST-" + UUID.randomUUID();
+        List<ClaimDTO> requests = new ArrayList<>();
+        for (int i = 0; i < claims; i++) {
+            ClaimDTO claim = new ClaimDTO();
+            claim.setCustomerId(customerId);
+            claim.setPolicyNumber("POL-" + UUID.randomUUID());
+            claim.setClaimType("AUTO");
+            claim.setDescription("Rear bumper damage");
+            claim.setClaimAmount(100.0 + i);
+            requests.add(claim);
+        }
+        for (BulkClaimResultDTO result : claimService.createClaims(requests)) {
+            for (int c = 0; c < commentsPerClaim; c++) {
+                claimService.addComment(result.getClaimId(), newComment("comment " + c));
+            }
+        }
+        return customerId;
+    }
+
+    private static CommentDTO newComment(String text) {
+        CommentDTO comment = new CommentDTO();
+        comment.setText(text);
+        comment.setAuthorId("SUPER001");
+        comment.setAuthorName("Supervisor");
+        return comment;
+    }
+}
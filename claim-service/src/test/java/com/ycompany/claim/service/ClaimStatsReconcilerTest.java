@@ -0,0 +1,95 @@
+package com.ycompany.claim.service;
+
+import com.ycompany.claim.repository.ClaimRepository;
+import com.ycompany.claim.repository.ClaimStatsCounterRepository;
+import com.ycompany.common.dto.ClaimDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ClaimStatsReconcilerTest {
+
+    @Autowired
+    private ClaimStatsReconciler reconciler;
+
+    @Autowired
+    private ClaimService claimService;
+
+    @Autowired
+    private ClaimRepository claimRepository;
+
+    @Autowired
+    private ClaimStatsCounterRepository counterRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void correctsCountersOfClaimsChangedOutsideClaimService() {
+        String oldType = "TYPE-" + UUID.randomUUID();
+        String newType = "TYPE-" + UUID.randomUUID();
+        ClaimDTO claim = claimService.createClaim(newClaim(oldType, 400.0));
+        jdbcTemplate.update("UPDATE claims SET claim_type = ? WHERE id = ?", newType, claim.getId());
+        double correctionsBefore = meterRegistry.counter("claim.stats.corrections").count();
+
+        reconciler.reconcile();
+
+        Map<String, double[]> byType = claimTypeCounters();
+        assertThat(byType.get(oldType)).containsExactly(0, 0);
+        assertThat(byType.get(newType)).containsExactly(1, 400.0);
+        assertThat(claimTypeCounts(byType)).containsAllEntriesOf(claimTypeTruth());
+        assertThat(meterRegistry.counter("claim.stats.corrections").count()).isGreaterThanOrEqualTo(correctionsBefore + 2);
+        assertThat(claimService.getStats(LocalDate.now(), LocalDate.now()).getByClaimType()).containsKey(newType)
+                .doesNotContainKey(oldType);
+    }
+
+    private Map<String, double[]> claimTypeCounters() {
+        Map<String, double[]> counters = new HashMap<>();
+        for (Object[] row : counterRepository.sumBuckets()) {
+            if ("CLAIM_TYPE".equals(row[0])) {
+                counters.put((String) row[1], new double[]{((Number) row[2]).doubleValue(), ((Number) row[3]).doubleValue()});
+            }
+        }
+        return counters;
+    }
+
+    // Claim count per type, from the claims table
+    private Map<String, Long> claimTypeTruth() {
+        Map<String, Long> truth = new HashMap<>();
+        for (Object[] row : claimRepository.sumByClaimType()) {
+            truth.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return truth;
+    }
+
+    private static Map<String, Long> claimTypeCounts(Map<String, double[]> counters) {
+        Map<String, Long> counts = new HashMap<>();
+        counters.forEach((type, totals) -> counts.put(type, (long) totals[0]));
+        return counts;
+    }
+
+    private static ClaimDTO newClaim(String claimType, double amount) {
+        ClaimDTO claim = new ClaimDTO();
+        claim.setCustomerId("CUST-" + UUID.randomUUID());
+        claim.setPolicyNumber("POL-" + UUID.randomUUID());
+        claim.setClaimType(claimType);
+        claim.setDescription("Water damage in the kitchen");
+        claim.setClaimAmount(amount);
+        return claim;
+    }
+}
@@ -0,0 +1,103 @@
+package com.ycompany.claim.service;
+
+import com.ycompany.claim.entity.ClaimStatsDimension;
+import com.ycompany.claim.repository.ClaimStatsCounterRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class ClaimStatsServiceTest {
+
+    @Autowired
+    private ClaimStatsService claimStatsService;
+
+    @Autowired
+    private ClaimStatsCounterRepository counterRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${claim.stats.slots:8}")
+    private int slots;
+
+    @Test
+    void firstIncrementOfABucketCreatesItsSlots() {
+        ClaimStatsService.Key key = newBucket();
+
+        transactionTemplate.executeWithoutResult(status -> claimStatsService.increment(key, 3, delta(1, 250.0)));
+
+        assertThat(counterRepository.findSlots(key.dimension.name(), key.bucket)).hasSize(slots);
+        assertThat(bucketTotals(key)).containsExactly(1, 250.0);
+    }
+
+    @Test
+    void concurrentFirstIncrementsOfABucketBothCount() throws Exception {
+        ClaimStatsService.Key key = newBucket();
+        CountDownLatch firstCreatedSlots = new CountDownLatch(1);
+        CountDownLatch commitFirst = new CountDownLatch(1);
+        ExecutorService writers = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> first = writers.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                claimStatsService.increment(key, 0, delta(1, 100.0));
+                firstCreatedSlots.countDown();
+                await(commitFirst);
+            }));
+            assertThat(firstCreatedSlots.await(10, TimeUnit.SECONDS)).isTrue();
+            // The second writer finds no committed slots and blocks inserting the first writer's rows
+            Future<?> second = writers.submit(() -> transactionTemplate.executeWithoutResult(
+                    status -> claimStatsService.increment(key, 1, delta(1, 50.0))));
+            Thread.sleep(500);
+            commitFirst.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+        } finally {
+            writers.shutdownNow();
+        }
+
+        assertThat(counterRepository.findSlots(key.dimension.name(), key.bucket)).hasSize(slots);
+        assertThat(bucketTotals(key)).containsExactly(2, 150.0);
+    }
+
+    // (claim count, total amount) summed over the bucket's slots
+    private double[] bucketTotals(ClaimStatsService.Key key) {
+        return jdbcTemplate.queryForObject("SELECT SUM(claim_count), SUM(total_amount) " +
+                        "FROM claim_stats_counters WHERE dimension = ? AND bucket = ?",
+                (rs, row) -> new double[]{rs.getLong(1), rs.getDouble(2)}, key.dimension.name(), key.bucket);
+    }
+
+    private static ClaimStatsService.Key newBucket() {
+        return new ClaimStatsService.Key(ClaimStatsDimension.SUPERVISOR, "TEST-" + UUID.randomUUID());
+    }
+
+    private static ClaimStatsService.Delta delta(long count, double amount) {
+        ClaimStatsService.Delta delta = new ClaimStatsService.Delta();
+        delta.add(count, amount);
+        return delta;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
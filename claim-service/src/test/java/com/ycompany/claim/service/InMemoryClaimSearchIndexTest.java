@@ -0,0 +1,85 @@
+package com.ycompany.claim.service;
+
+import com.ycompany.claim.entity.Claim;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryClaimSearchIndexTest {
+
+    private final InMemoryClaimSearchIndex index = new InMemoryClaimSearchIndex();
+
+    @Test
+    void descriptionMatchesRankAboveCommentMatches() {
+        index.indexClaims(List.of(claim(1L, "Rear bumper dented"), claim(2L, "Kitchen water damage")));
+        index.indexComment(1L, "Water came in through the boot");
+
+        assertThat(index.search("water", 0, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        index.indexClaims(List.of(claim(1L, "Water damage in the kitchen"), claim(2L, "Water damage in the garage")));
+
+        assertThat(index.search("kitchen water", 0, 10)).containsExactly(1L);
+        assertThat(index.search("kitchen roof", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void casePluralsAndStopWordsAreFolded() {
+        index.indexClaims(List.of(claim(1L, "Broken WINDOWS and two policies")));
+
+        assertThat(index.search("window", 0, 10)).containsExactly(1L);
+        assertThat(index.search("Policy", 0, 10)).containsExactly(1L);
+        assertThat(index.search("the and", 0, 10)).isEmpty();
+    }
+
+    @Test
+    void aReplacedDescriptionIsNoLongerFoundButItsCommentsAre() {
+        index.indexClaims(List.of(claim(1L, "Hail damage")));
+        index.indexComment(1L, "Roof tiles cracked");
+
+        index.indexClaims(List.of(claim(1L, "Flood damage")));
+
+        assertThat(index.search("hail", 0, 10)).isEmpty();
+        assertThat(index.search("flood", 0, 10)).containsExactly(1L);
+        assertThat(index.search("roof", 0, 10)).containsExactly(1L);
+    }
+
+    @Test
+    void pagesFollowTheRankingWithNewerClaimsFirstOnTies() {
+        for (long id = 1; id <= 5; id++) {
+            index.indexClaims(List.of(claim(id, "Cracked windscreen")));
+        }
+
+        assertThat(index.search("windscreen", 0, 2)).containsExactly(5L, 4L);
+        assertThat(index.search("windscreen", 2, 2)).containsExactly(3L, 2L);
+        assertThat(index.search("windscreen", 4, 2)).containsExactly(1L);
+        assertThat(index.search("windscreen", 6, 2)).isEmpty();
+    }
+
+    @Test
+    void writesInATransactionAreIndexedOnlyOnCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.indexClaims(List.of(claim(1L, "Stolen bicycle")));
+            assertThat(index.search("bicycle", 0, 10)).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(index.search("bicycle", 0, 10)).containsExactly(1L);
+    }
+
+    private static Claim claim(Long id, String description) {
+        Claim claim = new Claim();
+        claim.setId(id);
+        claim.setDescription(description);
+        return claim;
+    }
+}
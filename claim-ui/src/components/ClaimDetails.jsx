@@ -1,6 +1,6 @@
 import React, { useState } from 'react'
 import { useParams, useNavigate } from 'react-router-dom'
-import { useQuery, useMutation, useQueryClient } from 'react-query'
+import { useQuery, useInfiniteQuery, useMutation, useQueryClient } from 'react-query'
 import {
   Box,
   Card,
@@ -18,6 +18,7 @@ import {
 } from '@mui/material'
 import { ArrowBack, Send } from '@mui/icons-material'
 import { claimService } from '../services/api'
+import { useClaimEvents, applyClaimEvent } from '../services/claimEvents'
 
 function ClaimDetails() {
   const { id } = useParams()
@@ -25,11 +26,40 @@ function ClaimDetails() {
   const queryClient = useQueryClient()
   const [comment, setComment] = useState('')
   const [userRole] = useState('customer') // In real app, get from auth context
+  const [showAllComments, setShowAllComments] = useState(false)
+
+  const streaming = useClaimEvents(
+    { claimId: id },
+    (event) => {
+      if (event.type === 'COMMENT_ADDED') {
+        queryClient.invalidateQueries(['claim', id])
+        queryClient.invalidateQueries(['comments', id])
+        return
+      }
+      queryClient.setQueryData(['claim', id], (current) => current && applyClaimEvent(current, event))
+    },
+    () => queryClient.invalidateQueries(['claim', id])
+  )
 
   const { data: claim, isLoading } = useQuery(
     ['claim', id],
     () => claimService.getClaim(id).then(res => res.data),
-    { refetchInterval: 5000 }
+    { refetchInterval: streaming ? 60000 : 5000 }
+  )
+
+  // Claim reads carry only the latest comments; older ones are paged in on demand
+  const {
+    data: commentPages,
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery(
+    ['comments', id],
+    ({ pageParam }) => claimService.getComments(id, { cursor: pageParam, limit: 50 }).then(res => res.data),
+    {
+      enabled: showAllComments,
+      getNextPageParam: (lastPage) => (lastPage.hasMore ? lastPage.nextCursor : undefined),
+    }
   )
 
   const commentMutation = useMutation(
@@ -37,6 +67,7 @@ function ClaimDetails() {
     {
       onSuccess: () => {
         queryClient.invalidateQueries(['claim', id])
+        queryClient.invalidateQueries(['comments', id])
         setComment('')
       },
     }
@@ -55,6 +86,11 @@ function ClaimDetails() {
   if (isLoading) return <Typography>Loading...</Typography>
   if (!claim) return <Typography>Claim not found</Typography>
 
+  // Pages arrive newest first; show oldest first like the claim preview
+  const comments = showAllComments && commentPages
+    ? commentPages.pages.flatMap(page => page.items).reverse()
+    : claim.comments || []
+
   return (
     <Box>
       <Button
@@ -139,9 +175,19 @@ function ClaimDetails() {
           <Typography variant="h6" gutterBottom>
             Comments
           </Typography>
+          {!showAllComments && claim.commentCount > comments.length && (
+            <Button size="small" onClick={() => setShowAllComments(true)}>
+              Show all {claim.commentCount} comments
+            </Button>
+          )}
+          {showAllComments && hasNextPage && (
+            <Button size="small" onClick={() => fetchNextPage()} disabled={isFetchingNextPage}>
+              {isFetchingNextPage ? 'Loading...' : 'Load earlier comments'}
+            </Button>
+          )}
           <List>
-            {claim.comments && claim.comments.length > 0 ? (
-              claim.comments.map((comment, idx) => (
+            {comments.length > 0 ? (
+              comments.map((comment, idx) => (
                 <React.Fragment key={comment.id}>
                   <ListItem>
                     <ListItemText
@@ -163,7 +209,7 @@ function ClaimDetails() {
                       }
                     />
                   </ListItem>
-                  {idx < claim.comments.length - 1 && <Divider />}
+                  {idx < comments.length - 1 && <Divider />}
                 </React.Fragment>
               ))
             ) : (
@@ -24,6 +24,7 @@ import {
 } from '@mui/material'
 import { Add, Visibility, Refresh } from '@mui/icons-material'
 import { claimService, policyService } from '../services/api'
+import { useClaimEvents, applyClaimEvent } from '../services/claimEvents'
 
 function CustomerView() {
   const navigate = useNavigate()
@@ -39,10 +40,24 @@ function CustomerView() {
     documentUrls: [],
   })
 
+  const streaming = useClaimEvents(
+    { customerId: 'CUST001' },
+    (event) => {
+      if (event.type === 'CLAIM_CREATED') {
+        queryClient.invalidateQueries('customerClaims')
+        return
+      }
+      queryClient.setQueryData('customerClaims', (current) =>
+        current && current.map(claim => applyClaimEvent(claim, event)))
+    },
+    () => queryClient.invalidateQueries('customerClaims')
+  )
+
   const { data: allClaims = [], isLoading, refetch } = useQuery(
     'customerClaims',
     () => claimService.getClaimsByCustomer('CUST001').then(res => res.data),
-    { refetchInterval: 5000 }
+    // While streaming, a slow poll only catches edits and other claim-service replicas' writes
+    { refetchInterval: streaming ? 60000 : 5000 }
   )
 
   // Sort claims by creation date (newest first)
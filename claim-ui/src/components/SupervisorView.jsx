@@ -1,5 +1,5 @@
 import React, { useState } from 'react'
-import { useQuery, useMutation, useQueryClient } from 'react-query'
+import { useInfiniteQuery, useMutation, useQuery, useQueryClient } from 'react-query'
 import { useNavigate } from 'react-router-dom'
 import {
   Box,
@@ -22,6 +22,7 @@ import {
 } from '@mui/material'
 import { Visibility, Check, Close } from '@mui/icons-material'
 import { workflowService, claimService } from '../services/api'
+import { useClaimEvents, applyClaimEvent } from '../services/claimEvents'
 
 function SupervisorView() {
   const navigate = useNavigate()
@@ -32,9 +33,45 @@ function SupervisorView() {
     comments: '',
   })
 
-  const { data: claims = [], isLoading } = useQuery(
+  // Status and supervisor changes are patched into the loaded pages; new claims reload them
+  const streaming = useClaimEvents(
+    null,
+    (event) => {
+      if (event.type === 'CLAIM_CREATED') {
+        queryClient.invalidateQueries('allClaims')
+        return
+      }
+      queryClient.setQueryData('allClaims', (current) => current && {
+        ...current,
+        pages: current.pages.map(page => ({
+          ...page,
+          items: page.items.map(claim => applyClaimEvent(claim, event)),
+        })),
+      })
+    },
+    () => queryClient.invalidateQueries('allClaims')
+  )
+
+  const {
+    data,
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery(
     'allClaims',
-    () => claimService.getAllClaims().then(res => res.data),
+    ({ pageParam }) => claimService.listClaims({ cursor: pageParam, limit: 50 }).then(res => res.data),
+    {
+      getNextPageParam: (lastPage) => (lastPage.hasMore ? lastPage.nextCursor : undefined),
+      // While streaming, a slow poll only catches edits and other claim-service replicas' writes
+      refetchInterval: streaming ? 60000 : 5000,
+    }
+  )
+  const claims = data ? data.pages.flatMap(page => page.items) : []
+
+  // Pre-aggregated counts and amounts; never derived from the loaded pages
+  const { data: stats } = useQuery(
+    'claimStats',
+    () => claimService.getStats().then(res => res.data),
     { refetchInterval: 5000 }
   )
 
@@ -43,6 +80,7 @@ function SupervisorView() {
     {
       onSuccess: () => {
         queryClient.invalidateQueries('allClaims')
+        queryClient.invalidateQueries('claimStats')
         setApprovalDialog({ open: false, claim: null })
         setApprovalData({ decision: 'APPROVED', comments: '' })
       },
@@ -75,6 +113,26 @@ function SupervisorView() {
         Supervisor Dashboard - All Claims
       </Typography>
 
+      {stats && (
+        <Box sx={{ display: 'flex', flexWrap: 'wrap', gap: 1, mb: 2 }}>
+          <Chip
+            label={`All: ${stats.total.count} / $${stats.total.totalAmount.toFixed(2)}`}
+            variant="outlined"
+          />
+          {Object.entries(stats.byStatus).map(([status, totals]) => (
+            <Chip
+              key={status}
+              label={`${status}: ${totals.count} / $${totals.totalAmount.toFixed(2)}`}
+              color={getStatusColor(status)}
+              variant="outlined"
+            />
+          ))}
+          {Object.entries(stats.byClaimType).map(([claimType, totals]) => (
+            <Chip key={claimType} label={`${claimType}: ${totals.count}`} variant="outlined" />
+          ))}
+        </Box>
+      )}
+
       <TableContainer component={Paper}>
         <Table>
           <TableHead>
@@ -134,6 +192,14 @@ function SupervisorView() {
         </Table>
       </TableContainer>
 
+      {hasNextPage && (
+        <Box sx={{ display: 'flex', justifyContent: 'center', mt: 2 }}>
+          <Button onClick={() => fetchNextPage()} disabled={isFetchingNextPage}>
+            {isFetchingNextPage ? 'Loading...' : 'Load more'}
+          </Button>
+        </Box>
+      )}
+
       <Dialog
         open={approvalDialog.open}
         onClose={() => setApprovalDialog({ open: false, claim: null })}
@@ -13,18 +13,19 @@ export const claimService = {
   createClaim: (claimData) => api.post('/claims', claimData),
   getClaim: (id) => api.get(`/claims/${id}`),
   getClaimsByCustomer: (customerId) => api.get(`/claims/customer/${customerId}`),
-  getAllClaims: () => api.get('/claims'),
+  listClaims: (params) => api.get('/claims', { params }),
+  getStats: (params) => api.get('/claims/stats', { params }),
   updateClaim: (id, claimData) => api.put(`/claims/${id}`, claimData),
   addComment: (claimId, comment) => api.post(`/claims/${claimId}/comments`, comment),
-  getComments: (claimId) => api.get(`/claims/${claimId}/comments`),
+  getComments: (claimId, params) => api.get(`/claims/${claimId}/comments`, { params }),
   updateStatus: (id, status) => api.patch(`/claims/${id}/status?status=${status}`),
 }
 
 export const workflowService = {
   getClaimDetails: (id) => api.get(`/workflow/claims/${id}`),
   approveClaim: (approvalRequest) => api.post('/workflow/approve', approvalRequest),
-  assignSupervisor: (claimId, supervisorId) => 
-    api.post(`/workflow/claims/${claimId}/assign?supervisorId=${supervisorId}`),
+  assignSupervisor: (claimId, supervisorId, expectedVersion) =>
+    api.post(`/workflow/claims/${claimId}/assign`, null, { params: { supervisorId, expectedVersion } }),
 }
 
 export const policyService = {
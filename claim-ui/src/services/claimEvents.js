@@ -0,0 +1,62 @@
+import { useEffect, useRef, useState } from 'react'
+
+const CLAIM_EVENTS_URL = '/api/claims/events'
+
+/**
+ * Subscribes to the claim event stream while the component is mounted,
+ * optionally filtered by customerId or claimId. onEvent gets every change
+ * event; onResync is called whenever the stream (re)opens or the server
+ * dropped events for us, since changes may have been missed meanwhile.
+ * Returns whether the stream is currently open.
+ */
+export function useClaimEvents(params, onEvent, onResync) {
+  const [connected, setConnected] = useState(false)
+  const handlers = useRef({ onEvent, onResync })
+  handlers.current = { onEvent, onResync }
+
+  const query = new URLSearchParams(
+    Object.entries(params || {}).filter(([, value]) => value != null)
+  ).toString()
+
+  useEffect(() => {
+    const source = new EventSource(query ? `${CLAIM_EVENTS_URL}?${query}` : CLAIM_EVENTS_URL)
+    source.onopen = () => {
+      setConnected(true)
+      handlers.current.onResync()
+    }
+    // EventSource reconnects by itself; until then callers fall back to polling
+    source.onerror = () => setConnected(false)
+    source.onmessage = (message) => {
+      const event = JSON.parse(message.data)
+      if (event.type === 'RESYNC') {
+        handlers.current.onResync()
+      } else {
+        handlers.current.onEvent(event)
+      }
+    }
+    return () => source.close()
+  }, [query])
+
+  return connected
+}
+
+/**
+ * Applies a status or supervisor change to a claim (or claim summary) held
+ * in the query cache. Events older than the cached version are ignored.
+ */
+export function applyClaimEvent(claim, event) {
+  if (claim.id !== event.claimId) {
+    return claim
+  }
+  if (event.version != null && claim.version != null && event.version <= claim.version) {
+    return claim
+  }
+  switch (event.type) {
+    case 'STATUS_CHANGED':
+      return { ...claim, status: event.status, version: event.version }
+    case 'SUPERVISOR_ASSIGNED':
+      return { ...claim, supervisorId: event.supervisorId, version: event.version }
+    default:
+      return claim
+  }
+}
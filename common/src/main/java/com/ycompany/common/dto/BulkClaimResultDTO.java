@@ -0,0 +1,55 @@
+package com.ycompany.common.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of one item of a bulk claim create, in request order.
+ */
+public class BulkClaimResultDTO {
+    private int index;
+    private String status; // CREATED, INVALID
+    private Long claimId;
+    private String policyNumber;
+    private List<String> errors;
+
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public Long getClaimId() {
+        return claimId;
+    }
+
+    public void setClaimId(Long claimId) {
+        this.claimId = claimId;
+    }
+
+    public String getPolicyNumber() {
+        return policyNumber;
+    }
+
+    public void setPolicyNumber(String policyNumber) {
+        this.policyNumber = policyNumber;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
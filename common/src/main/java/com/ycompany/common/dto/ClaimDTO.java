@@ -30,7 +30,9 @@ public class ClaimDTO {
     private LocalDateTime updatedAt;
     private List<String> documentUrls;
     private String supervisorId;
-    private List<CommentDTO> comments;
+    private List<CommentDTO> comments; // latest comments only; see commentCount
+    private Long commentCount;
+    private Long version;
 
     // Getters and Setters
     public Long getId() {
@@ -128,5 +130,20 @@ public class ClaimDTO {
     public void setComments(List<CommentDTO> comments) {
         this.comments = comments;
     }
-}
 
+    public Long getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(Long commentCount) {
+        this.commentCount = commentCount;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,104 @@
+package com.ycompany.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.LocalDateTime;
+
+/**
+ * A committed claim change as pushed on GET /claims/events. Only the fields
+ * the change touched are set; {@code RESYNC} carries none and tells the
+ * client it missed events and should reload. {@code COMMENT_ADDED} has no
+ * customer, so it reaches claim and unfiltered streams only.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ClaimEventDTO {
+    public static final String CLAIM_CREATED = "CLAIM_CREATED";
+    public static final String STATUS_CHANGED = "STATUS_CHANGED";
+    public static final String SUPERVISOR_ASSIGNED = "SUPERVISOR_ASSIGNED";
+    public static final String COMMENT_ADDED = "COMMENT_ADDED";
+    public static final String RESYNC = "RESYNC";
+
+    private String type;
+    private Long claimId;
+    private String customerId;
+    private String status;
+    private String supervisorId;
+    private Long commentId;
+    private Long version;
+    private LocalDateTime occurredAt;
+
+    public ClaimEventDTO() {
+    }
+
+    public ClaimEventDTO(String type, Long claimId, String customerId) {
+        this.type = type;
+        this.claimId = claimId;
+        this.customerId = customerId;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getClaimId() {
+        return claimId;
+    }
+
+    public void setClaimId(Long claimId) {
+        this.claimId = claimId;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getSupervisorId() {
+        return supervisorId;
+    }
+
+    public void setSupervisorId(String supervisorId) {
+        this.supervisorId = supervisorId;
+    }
+
+    public Long getCommentId() {
+        return commentId;
+    }
+
+    public void setCommentId(Long commentId) {
+        this.commentId = commentId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
@@ -0,0 +1,67 @@
+package com.ycompany.common.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Claim counts and amounts overall and per status, claim type, supervisor
+ * and creation day (yyyy-MM-dd). Buckets without claims are omitted.
+ */
+public class ClaimStatsDTO {
+    private ClaimTotalsDTO total;
+    private Map<String, ClaimTotalsDTO> byStatus;
+    private Map<String, ClaimTotalsDTO> byClaimType;
+    private Map<String, ClaimTotalsDTO> bySupervisor;
+    private Map<String, ClaimTotalsDTO> byDay;
+    // When the counters were last reloaded from the database
+    private LocalDateTime refreshedAt;
+
+    // Getters and Setters
+    public ClaimTotalsDTO getTotal() {
+        return total;
+    }
+
+    public void setTotal(ClaimTotalsDTO total) {
+        this.total = total;
+    }
+
+    public Map<String, ClaimTotalsDTO> getByStatus() {
+        return byStatus;
+    }
+
+    public void setByStatus(Map<String, ClaimTotalsDTO> byStatus) {
+        this.byStatus = byStatus;
+    }
+
+    public Map<String, ClaimTotalsDTO> getByClaimType() {
+        return byClaimType;
+    }
+
+    public void setByClaimType(Map<String, ClaimTotalsDTO> byClaimType) {
+        this.byClaimType = byClaimType;
+    }
+
+    public Map<String, ClaimTotalsDTO> getBySupervisor() {
+        return bySupervisor;
+    }
+
+    public void setBySupervisor(Map<String, ClaimTotalsDTO> bySupervisor) {
+        this.bySupervisor = bySupervisor;
+    }
+
+    public Map<String, ClaimTotalsDTO> getByDay() {
+        return byDay;
+    }
+
+    public void setByDay(Map<String, ClaimTotalsDTO> byDay) {
+        this.byDay = byDay;
+    }
+
+    public LocalDateTime getRefreshedAt() {
+        return refreshedAt;
+    }
+
+    public void setRefreshedAt(LocalDateTime refreshedAt) {
+        this.refreshedAt = refreshedAt;
+    }
+}
@@ -0,0 +1,34 @@
+package com.ycompany.common.dto;
+
+/**
+ * Result of a claim status transition.
+ */
+public class ClaimStatusDTO {
+    private Long claimId;
+    private String status;
+
+    public ClaimStatusDTO() {
+    }
+
+    public ClaimStatusDTO(Long claimId, String status) {
+        this.claimId = claimId;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getClaimId() {
+        return claimId;
+    }
+
+    public void setClaimId(Long claimId) {
+        this.claimId = claimId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
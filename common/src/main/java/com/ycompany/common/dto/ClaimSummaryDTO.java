@@ -0,0 +1,119 @@
+package com.ycompany.common.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight claim projection used by list views. Carries no description,
+ * documents or comments so a page of summaries stays small on the wire.
+ */
+public class ClaimSummaryDTO {
+    private Long id;
+    private String customerId;
+    private String policyNumber;
+    private String claimType;
+    private Double claimAmount;
+    private String status;
+    private String supervisorId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Long version;
+
+    public ClaimSummaryDTO() {
+    }
+
+    public ClaimSummaryDTO(Long id, String customerId, String policyNumber, String claimType,
+                           Double claimAmount, String status, String supervisorId,
+                           LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this.id = id;
+        this.customerId = customerId;
+        this.policyNumber = policyNumber;
+        this.claimType = claimType;
+        this.claimAmount = claimAmount;
+        this.status = status;
+        this.supervisorId = supervisorId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.version = version;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(String customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getPolicyNumber() {
+        return policyNumber;
+    }
+
+    public void setPolicyNumber(String policyNumber) {
+        this.policyNumber = policyNumber;
+    }
+
+    public String getClaimType() {
+        return claimType;
+    }
+
+    public void setClaimType(String claimType) {
+        this.claimType = claimType;
+    }
+
+    public Double getClaimAmount() {
+        return claimAmount;
+    }
+
+    public void setClaimAmount(Double claimAmount) {
+        this.claimAmount = claimAmount;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getSupervisorId() {
+        return supervisorId;
+    }
+
+    public void setSupervisorId(String supervisorId) {
+        this.supervisorId = supervisorId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,34 @@
+package com.ycompany.common.dto;
+
+/**
+ * Number of claims and their summed claim amount.
+ */
+public class ClaimTotalsDTO {
+    private long count;
+    private double totalAmount;
+
+    public ClaimTotalsDTO() {
+    }
+
+    public ClaimTotalsDTO(long count, double totalAmount) {
+        this.count = count;
+        this.totalAmount = totalAmount;
+    }
+
+    // Getters and Setters
+    public long getCount() {
+        return count;
+    }
+
+    public void setCount(long count) {
+        this.count = count;
+    }
+
+    public double getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(double totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+}
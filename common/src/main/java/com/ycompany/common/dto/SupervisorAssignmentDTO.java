@@ -0,0 +1,45 @@
+package com.ycompany.common.dto;
+
+/**
+ * Result of assigning a supervisor to a claim. {@code version} is the claim's
+ * new version, to send as the expected version of the next conditional write.
+ */
+public class SupervisorAssignmentDTO {
+    private Long claimId;
+    private String supervisorId;
+    private Long version;
+
+    public SupervisorAssignmentDTO() {
+    }
+
+    public SupervisorAssignmentDTO(Long claimId, String supervisorId, Long version) {
+        this.claimId = claimId;
+        this.supervisorId = supervisorId;
+        this.version = version;
+    }
+
+    // Getters and Setters
+    public Long getClaimId() {
+        return claimId;
+    }
+
+    public void setClaimId(Long claimId) {
+        this.claimId = claimId;
+    }
+
+    public String getSupervisorId() {
+        return supervisorId;
+    }
+
+    public void setSupervisorId(String supervisorId) {
+        this.supervisorId = supervisorId;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ycompany.common.loadbalancer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-instance state of one load-balanced service: requests in flight and
+ * passive health. An instance that fails {@code failureThreshold} calls in a
+ * row (connection errors or 502/503/504) is ejected for
+ * {@code ejectionDuration}; the first success afterwards clears its record.
+ *
+ * Requests in flight are counted by {@link #track}, which the gateway and
+ * WebClient filters wrap around each call. The load balancer lifecycle cannot
+ * count them: it is never told about a cancelled call.
+ */
+public class InstanceLoadStats {
+
+    private final String serviceId;
+    private final int failureThreshold;
+    private final long ejectionNanos;
+    private final MeterRegistry registry;
+    private final Map<String, Instance> instances = new ConcurrentHashMap<>();
+
+    public InstanceLoadStats(String serviceId, int failureThreshold, Duration ejectionDuration,
+                             MeterRegistry registry) {
+        this.serviceId = serviceId;
+        this.failureThreshold = failureThreshold;
+        this.ejectionNanos = ejectionDuration.toNanos();
+        this.registry = registry;
+    }
+
+    /**
+     * Counts {@code call} as in flight to the instance from subscription until
+     * it completes, fails or is cancelled.
+     */
+    public <T> Mono<T> track(ServiceInstance serviceInstance, Mono<T> call) {
+        Instance instance = of(serviceInstance);
+        return Mono.defer(() -> {
+            instance.started();
+            return call;
+        }).doFinally(signal -> instance.finished());
+    }
+
+    Instance of(ServiceInstance serviceInstance) {
+        return instances.computeIfAbsent(serviceInstance.getHost() + ":" + serviceInstance.getPort(), this::register);
+    }
+
+    private Instance register(String address) {
+        Instance instance = new Instance();
+        if (registry != null) {
+            Gauge.builder("loadbalancer.instance.outstanding", instance.outstanding, AtomicInteger::get)
+                    .description("Requests in flight to the instance")
+                    .tag("serviceId", serviceId)
+                    .tag("instance", address)
+                    .register(registry);
+            instance.ejections = Counter.builder("loadbalancer.instance.ejections")
+                    .description("Times the instance was taken out of rotation after consecutive failures")
+                    .tag("serviceId", serviceId)
+                    .tag("instance", address)
+                    .register(registry);
+        }
+        return instance;
+    }
+
+    class Instance {
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private volatile long ejectedUntil;
+        private Counter ejections;
+
+        int outstanding() {
+            return outstanding.get();
+        }
+
+        boolean isEjected(long now) {
+            return ejectedUntil - now > 0;
+        }
+
+        void started() {
+            outstanding.incrementAndGet();
+        }
+
+        void finished() {
+            outstanding.decrementAndGet();
+        }
+
+        void succeeded() {
+            consecutiveFailures.set(0);
+        }
+
+        void failed() {
+            if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                consecutiveFailures.set(0);
+                ejectedUntil = System.nanoTime() + ejectionNanos;
+                if (ejections != null) {
+                    ejections.increment();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ycompany.common.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Spring Cloud LoadBalancer client configuration that replaces round robin
+ * with {@link LeastLoadedLoadBalancer} and passive health ejection. Register
+ * it per application with
+ * {@code @LoadBalancerClients(defaultConfiguration = LeastLoadedLoadBalancerConfiguration.class)};
+ * it is deliberately not a scanned {@code @Configuration}, since its beans
+ * belong in each service's child context.
+ *
+ * Requests in flight are only counted where the calls go through
+ * {@link InstanceLoadStats#track}: the gateway's OutstandingRequestsGlobalFilter,
+ * or {@link OutstandingRequestsExchangeFilterFunction} on a WebClient.
+ *
+ * Settings (client.load-balancing.*): strategy ({@code power-of-two} or
+ * {@code least-outstanding}), failure-threshold and ejection-duration.
+ * Instances usually come from
+ * spring.cloud.discovery.client.simple.instances.&lt;service-id&gt;[n].uri.
+ */
+public class LeastLoadedLoadBalancerConfiguration {
+
+    // Bound with Boot's conversions (e.g. "30s", "power-of-two"), which the child context lacks
+    @Bean
+    public InstanceLoadStats instanceLoadStats(Environment environment, ObjectProvider<MeterRegistry> registry) {
+        Binder binder = Binder.get(environment);
+        return new InstanceLoadStats(
+                LoadBalancerClientFactory.getName(environment),
+                binder.bind("client.load-balancing.failure-threshold", Integer.class).orElse(3),
+                binder.bind("client.load-balancing.ejection-duration", Duration.class).orElse(Duration.ofSeconds(30)),
+                registry.getIfAvailable());
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+            Environment environment, LoadBalancerClientFactory clientFactory, InstanceLoadStats stats) {
+        String serviceId = LoadBalancerClientFactory.getName(environment);
+        return new LeastLoadedLoadBalancer(
+                clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class), serviceId, stats,
+                Binder.get(environment).bind("client.load-balancing.strategy", LoadBalancingStrategy.class)
+                        .orElse(LoadBalancingStrategy.POWER_OF_TWO));
+    }
+
+    @Bean
+    public PassiveHealthLifecycle passiveHealthLifecycle(InstanceLoadStats stats) {
+        return new PassiveHealthLifecycle(stats);
+    }
+}
@@ -0,0 +1,11 @@
+package com.ycompany.common.loadbalancer;
+
+/**
+ * How {@link LeastLoadedLoadBalancer} picks among the healthy instances.
+ */
+public enum LoadBalancingStrategy {
+    /** The instance with the fewest requests in flight (ties broken at random). */
+    LEAST_OUTSTANDING,
+    /** Two instances sampled at random; the one with fewer requests in flight wins. */
+    POWER_OF_TWO
+}
@@ -0,0 +1,48 @@
+package com.ycompany.common.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.reactive.LoadBalancerClientRequestTransformer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Counts load-balanced WebClient calls as in flight to the chosen instance
+ * until the response arrives, the call fails or it is cancelled (a caller's
+ * timeout, for instance). Register it as a bean, so the load balancer hands
+ * it the chosen instance, and add it to the WebClient after the load
+ * balancer filter. Server-Sent Event streams are long-lived rather than
+ * load, and are not counted.
+ */
+public class OutstandingRequestsExchangeFilterFunction
+        implements ExchangeFilterFunction, LoadBalancerClientRequestTransformer {
+
+    private static final String INSTANCE_ATTRIBUTE =
+            OutstandingRequestsExchangeFilterFunction.class.getName() + ".instance";
+
+    private final LoadBalancerClientFactory clientFactory;
+
+    public OutstandingRequestsExchangeFilterFunction(LoadBalancerClientFactory clientFactory) {
+        this.clientFactory = clientFactory;
+    }
+
+    @Override
+    public ClientRequest transformRequest(ClientRequest request, ServiceInstance instance) {
+        return ClientRequest.from(request).attribute(INSTANCE_ATTRIBUTE, instance).build();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (!(request.attribute(INSTANCE_ATTRIBUTE).orElse(null) instanceof ServiceInstance instance)
+                || request.headers().getAccept().contains(MediaType.TEXT_EVENT_STREAM)) {
+            return next.exchange(request);
+        }
+        // Null for services balanced without LeastLoadedLoadBalancerConfiguration
+        InstanceLoadStats stats = clientFactory.getInstance(instance.getServiceId(), InstanceLoadStats.class);
+        return stats == null ? next.exchange(request) : stats.track(instance, next.exchange(request));
+    }
+}
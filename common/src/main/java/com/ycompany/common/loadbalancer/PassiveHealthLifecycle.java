@@ -0,0 +1,60 @@
+package com.ycompany.common.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+
+/**
+ * Feeds call outcomes back into {@link InstanceLoadStats}: records connection
+ * errors and 502/503/504 responses as failures. Other statuses, including
+ * 500, are the service's answer rather than a sign the instance is unhealthy.
+ * A cancelled call reaches neither callback, so it leaves the health record
+ * as it was.
+ */
+public class PassiveHealthLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    private final InstanceLoadStats stats;
+
+    public PassiveHealthLifecycle(InstanceLoadStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (completionContext.status() == CompletionContext.Status.DISCARD
+                || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceLoadStats.Instance instance = stats.of(lbResponse.getServer());
+        if (completionContext.status() == CompletionContext.Status.FAILED || isUnavailable(completionContext)) {
+            instance.failed();
+        } else {
+            instance.succeeded();
+        }
+    }
+
+    private static boolean isUnavailable(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        if (completionContext.getClientResponse() instanceof ResponseData response && response.getHttpStatus() != null) {
+            int status = response.getHttpStatus().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,154 @@
+package com.ycompany.common.temporal;
+
+import com.uber.m3.tally.NoopScope;
+import com.uber.m3.tally.RootScopeBuilder;
+import com.uber.m3.tally.Scope;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.opentracingshim.OpenTracingShim;
+import io.temporal.client.WorkflowClient;
+import io.temporal.client.WorkflowClientOptions;
+import io.temporal.common.reporter.MicrometerClientStatsReporter;
+import io.temporal.opentracing.OpenTracingClientInterceptor;
+import io.temporal.opentracing.OpenTracingOptions;
+import io.temporal.serviceclient.RpcRetryOptions;
+import io.temporal.serviceclient.WorkflowServiceStubs;
+import io.temporal.serviceclient.WorkflowServiceStubsOptions;
+import io.temporal.worker.MetricsType;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * One Temporal connection per JVM. Every service that talks to Temporal
+ * (workflow starters, workers and signalers) injects the {@link WorkflowClient}
+ * defined here instead of building its own gRPC stubs. Channel, keepalive and
+ * deadline settings are bound from temporal.* properties.
+ *
+ * Workflow starts and signals carry the caller's trace context in their
+ * Temporal headers, so workflow spans recorded by the worker (see
+ * {@link #temporalTracingOptions}) join the trace of the request that caused them.
+ */
+@Configuration
+public class TemporalClientConfig {
+
+    @Value("${temporal.server.address:localhost:7233}")
+    private String temporalServerAddress;
+
+    @Value("${temporal.namespace:default}")
+    private String namespace;
+
+    @Value("${temporal.client.rpc-timeout:10s}")
+    private Duration rpcTimeout;
+
+    @Value("${temporal.client.rpc-long-poll-timeout:70s}")
+    private Duration rpcLongPollTimeout;
+
+    @Value("${temporal.client.rpc-retry-expiration:30s}")
+    private Duration rpcRetryExpiration;
+
+    @Value("${temporal.client.keep-alive-time:30s}")
+    private Duration keepAliveTime;
+
+    @Value("${temporal.client.keep-alive-timeout:15s}")
+    private Duration keepAliveTimeout;
+
+    @Value("${temporal.client.max-inbound-message-size:4194304}")
+    private int maxInboundMessageSize;
+
+    @Value("${temporal.client.metrics-report-interval:10s}")
+    private Duration metricsReportInterval;
+
+    @Value("${temporal.client.metrics-percentiles:0.5,0.99}")
+    private double[] metricsPercentiles;
+
+    /**
+     * Tally scope bridging the SDK's client and worker metrics into Micrometer,
+     * or a no-op scope when no registry is present.
+     */
+    @Bean(destroyMethod = "close")
+    public Scope temporalMetricsScope(ObjectProvider<MeterRegistry> meterRegistry) {
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return new NoopScope();
+        }
+        return new RootScopeBuilder()
+                .reporter(new MicrometerClientStatsReporter(registry))
+                .reportEvery(com.uber.m3.util.Duration.ofMillis(metricsReportInterval.toMillis()));
+    }
+
+    /**
+     * Client-side percentiles for the SDK's timers (temporal_request_latency,
+     * temporal_workflow_task_*, ...). Boot's management.metrics.distribution
+     * keys only match whole dot-separated name segments, which the SDK's
+     * "temporal_" names do not have. Histogram buckets are already published
+     * by the SDK's reporter.
+     */
+    @Bean
+    public MeterFilter temporalPercentiles() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!id.getName().startsWith(MetricsType.TEMPORAL_METRICS_PREFIX)) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentiles(metricsPercentiles)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    /**
+     * Bridges Temporal's OpenTracing interceptors to the OpenTelemetry tracer
+     * behind Micrometer Tracing, or to a no-op tracer when tracing is absent.
+     * Shared by the client interceptor here and the worker interceptor.
+     */
+    @Bean
+    public OpenTracingOptions temporalTracingOptions(ObjectProvider<OpenTelemetry> openTelemetry) {
+        OpenTelemetry otel = openTelemetry.getIfAvailable();
+        if (otel == null) {
+            return OpenTracingOptions.getDefaultInstance();
+        }
+        return OpenTracingOptions.newBuilder()
+                .setTracer(OpenTracingShim.createTracerShim(otel))
+                .build();
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public WorkflowServiceStubs workflowServiceStubs(Scope temporalMetricsScope) {
+        return WorkflowServiceStubs.newServiceStubs(
+            WorkflowServiceStubsOptions.newBuilder()
+                .setTarget(temporalServerAddress)
+                .setRpcTimeout(rpcTimeout)
+                .setRpcLongPollTimeout(rpcLongPollTimeout)
+                .setRpcRetryOptions(RpcRetryOptions.newBuilder()
+                    .setExpiration(rpcRetryExpiration)
+                    .build())
+                .setEnableKeepAlive(true)
+                .setKeepAliveTime(keepAliveTime)
+                .setKeepAliveTimeout(keepAliveTimeout)
+                .setKeepAlivePermitWithoutStream(true)
+                .setChannelInitializer(channel -> channel.maxInboundMessageSize(maxInboundMessageSize))
+                .setMetricsScope(temporalMetricsScope)
+                .build()
+        );
+    }
+
+    @Bean
+    public WorkflowClient workflowClient(WorkflowServiceStubs workflowServiceStubs,
+                                         OpenTracingOptions temporalTracingOptions) {
+        return WorkflowClient.newInstance(workflowServiceStubs,
+            WorkflowClientOptions.newBuilder()
+                .setNamespace(namespace)
+                .setInterceptors(new OpenTracingClientInterceptor(temporalTracingOptions))
+                .build());
+    }
+}
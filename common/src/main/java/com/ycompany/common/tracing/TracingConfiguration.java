@@ -0,0 +1,50 @@
+package com.ycompany.common.tracing;
+
+import io.micrometer.observation.ObservationPredicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Tracing setup shared by the services, on top of Boot's Micrometer Tracing
+ * (OpenTelemetry bridge) auto-configuration.
+ */
+@Configuration
+public class TracingConfiguration {
+
+    /**
+     * Exports spans to the file named by tracing.export.file (unset or empty:
+     * no file export). Boot's OpenTelemetry setup picks up every SpanExporter bean, so
+     * this runs alongside any other exporter that is configured.
+     */
+    @Bean
+    @ConditionalOnExpression("!'${tracing.export.file:}'.isEmpty()")
+    public FileSpanExporter fileSpanExporter(@Value("${tracing.export.file}") String file) throws IOException {
+        return new FileSpanExporter(Path.of(file));
+    }
+
+    /**
+     * Leaves actuator requests (health checks, scrapes) and scheduled polling
+     * loops such as the outbox relay out of tracing, so traces are started
+     * by real requests only.
+     */
+    @Bean
+    public ObservationPredicate ignoreBackgroundObservations() {
+        return (name, context) -> {
+            if (name.equals("tasks.scheduled.execution")) {
+                return false;
+            }
+            if (context instanceof org.springframework.http.server.observation.ServerRequestObservationContext servlet) {
+                return !servlet.getCarrier().getRequestURI().startsWith("/actuator");
+            }
+            if (context instanceof org.springframework.http.server.reactive.observation.ServerRequestObservationContext reactive) {
+                return !reactive.getCarrier().getPath().value().startsWith("/actuator");
+            }
+            return true;
+        };
+    }
+}
@@ -0,0 +1,124 @@
+package com.ycompany.common.loadbalancer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LeastLoadedLoadBalancerTest {
+
+    private static final String SERVICE_ID = "claim-service";
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final Duration EJECTION = Duration.ofMillis(200);
+
+    private final ServiceInstance first = new DefaultServiceInstance("first", SERVICE_ID, "10.0.0.1", 8081, false);
+    private final ServiceInstance second = new DefaultServiceInstance("second", SERVICE_ID, "10.0.0.2", 8081, false);
+    private final InstanceLoadStats stats = new InstanceLoadStats(SERVICE_ID, FAILURE_THRESHOLD, EJECTION, null);
+
+    @Test
+    void bothStrategiesPickTheInstanceWithFewerRequestsInFlight() {
+        busy(first, 3);
+        busy(second, 1);
+
+        for (LoadBalancingStrategy strategy : LoadBalancingStrategy.values()) {
+            LeastLoadedLoadBalancer balancer = balancer(strategy, first, second);
+            for (int i = 0; i < 20; i++) {
+                assertThat(choose(balancer)).as(strategy.name()).isEqualTo(second);
+            }
+        }
+    }
+
+    @Test
+    void noInstancesGiveAnEmptyResponse() {
+        assertThat(balancer(LoadBalancingStrategy.POWER_OF_TWO).choose().block().hasServer()).isFalse();
+    }
+
+    @Test
+    void consecutiveFailuresEjectAnInstanceUntilTheEjectionEnds() throws InterruptedException {
+        LeastLoadedLoadBalancer balancer = balancer(LoadBalancingStrategy.LEAST_OUTSTANDING, first, second);
+        busy(second, 5);
+        fail(first, FAILURE_THRESHOLD);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(choose(balancer)).isEqualTo(second);
+        }
+
+        Thread.sleep(EJECTION.toMillis() + 50);
+        assertThat(choose(balancer)).isEqualTo(first);
+    }
+
+    @Test
+    void aSuccessBetweenFailuresKeepsTheInstanceInRotation() {
+        LeastLoadedLoadBalancer balancer = balancer(LoadBalancingStrategy.LEAST_OUTSTANDING, first, second);
+        busy(second, 5);
+        fail(first, FAILURE_THRESHOLD - 1);
+        stats.of(first).succeeded();
+        fail(first, FAILURE_THRESHOLD - 1);
+
+        assertThat(choose(balancer)).isEqualTo(first);
+    }
+
+    @Test
+    void whenEveryInstanceIsEjectedAllAreConsideredAgain() {
+        LeastLoadedLoadBalancer balancer = balancer(LoadBalancingStrategy.LEAST_OUTSTANDING, first, second);
+        busy(first, 2);
+        fail(first, FAILURE_THRESHOLD);
+        fail(second, FAILURE_THRESHOLD);
+
+        assertThat(choose(balancer)).isEqualTo(second);
+    }
+
+    @Test
+    void aCancelledCallIsNoLongerInFlight() {
+        Disposable call = stats.track(first, Mono.never()).subscribe();
+        stats.track(second, Mono.never()).timeout(Duration.ofMillis(10)).onErrorResume(e -> Mono.empty()).block();
+
+        assertThat(stats.of(first).outstanding()).isEqualTo(1);
+        assertThat(stats.of(second).outstanding()).isZero();
+
+        call.dispose();
+        assertThat(stats.of(first).outstanding()).isZero();
+    }
+
+    @Test
+    void aCallIsInFlightUntilItCompletesOrFails() {
+        stats.track(first, Mono.just("done")).block();
+        stats.track(first, Mono.error(new IllegalStateException("refused")))
+                .onErrorResume(e -> Mono.empty()).block();
+
+        assertThat(stats.of(first).outstanding()).isZero();
+    }
+
+    private LeastLoadedLoadBalancer balancer(LoadBalancingStrategy strategy, ServiceInstance... instances) {
+        ServiceInstanceListSupplier supplier = ServiceInstanceListSuppliers.from(SERVICE_ID, instances);
+        return new LeastLoadedLoadBalancer(
+                new StaticListableBeanFactory(Map.of("supplier", supplier)).getBeanProvider(ServiceInstanceListSupplier.class),
+                SERVICE_ID, stats, strategy);
+    }
+
+    private static ServiceInstance choose(LeastLoadedLoadBalancer balancer) {
+        return balancer.choose().block().getServer();
+    }
+
+    // Requests left in flight on the instance
+    private void busy(ServiceInstance instance, int requests) {
+        for (int i = 0; i < requests; i++) {
+            stats.track(instance, Mono.never()).subscribe();
+        }
+    }
+
+    private void fail(ServiceInstance instance, int times) {
+        for (int i = 0; i < times; i++) {
+            stats.of(instance).failed();
+        }
+    }
+}
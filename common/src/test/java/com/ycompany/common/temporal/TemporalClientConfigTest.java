@@ -0,0 +1,33 @@
+package com.ycompany.common.temporal;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TemporalClientConfigTest {
+
+    @Test
+    void sdkTimersPublishTheConfiguredPercentilesAndOtherTimersDoNot() {
+        TemporalClientConfig config = new TemporalClientConfig();
+        ReflectionTestUtils.setField(config, "metricsPercentiles", new double[]{0.5, 0.99});
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(config.temporalPercentiles());
+
+        Timer temporal = Timer.builder("temporal_request_latency").tag("operation", "SignalWorkflowExecution")
+                .register(registry);
+        Timer other = Timer.builder("http.client.requests").register(registry);
+        temporal.record(Duration.ofMillis(20));
+        other.record(Duration.ofMillis(20));
+
+        assertThat(Arrays.stream(temporal.takeSnapshot().percentileValues()).map(ValueAtPercentile::percentile))
+                .containsExactly(0.5, 0.99);
+        assertThat(other.takeSnapshot().percentileValues()).isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package com.ycompany.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of one endpoint. Latency runs from the time the
+ * request was due to be sent, not when it actually was, so a backed-up
+ * client or server shows up in the numbers instead of thinning the load.
+ */
+public class EndpointStats {
+
+    private final String name;
+    private final Histogram latencyMicros = new ConcurrentHistogram(3);
+    private final LongAdder successes = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public EndpointStats(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void success(long intendedStartNanos, long endNanos) {
+        latencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(Math.max(0, endNanos - intendedStartNanos)));
+        successes.increment();
+    }
+
+    /**
+     * @param kind HTTP status code, or the failure type (timeout, io, ...)
+     */
+    public void error(String kind) {
+        errors.computeIfAbsent(kind, k -> new LongAdder()).increment();
+    }
+
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    public long getErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public Map<String, Long> getErrorsByKind() {
+        Map<String, Long> byKind = new TreeMap<>();
+        errors.forEach((kind, count) -> byKind.put(kind, count.sum()));
+        return byKind;
+    }
+
+    public double getErrorRate() {
+        long total = getSuccesses() + getErrors();
+        return total == 0 ? 0.0 : (double) getErrors() / total;
+    }
+
+    /**
+     * Latency of successful requests in milliseconds at the given percentile (0-100).
+     */
+    public double percentileMillis(double percentile) {
+        return latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    public double maxMillis() {
+        return latencyMicros.getMaxValue() / 1000.0;
+    }
+}
@@ -0,0 +1,117 @@
+package com.ycompany.loadtest;
+
+import com.ycompany.claim.ClaimServiceApplication;
+import com.ycompany.workflow.WorkflowManagerApplication;
+import io.temporal.testserver.TestServer;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.URL;
+
+/**
+ * Claim Service and Workflow Manager in this JVM, on random ports: Claim
+ * Service on an in-memory H2 database with its Temporal worker and outbox
+ * relay, both talking to Temporal's in-memory test server. Everything else
+ * comes from each service's own application.yml.
+ */
+public class InProcessServices implements AutoCloseable {
+
+    private final TestServer.PortBoundTestServer temporal;
+    private final ConfigurableApplicationContext claimService;
+    private final ConfigurableApplicationContext workflowManager;
+    private final URI claimServiceUrl;
+    private final URI workflowManagerUrl;
+
+    public InProcessServices() {
+        int temporalPort = freePort();
+        // Real time: with time skipping the server would fast-forward through the workflows' approval wait
+        temporal = TestServer.createPortBoundServer(temporalPort, true);
+        String temporalAddress = "--temporal.server.address=localhost:" + temporalPort;
+
+        claimService = new SpringApplicationBuilder(ClaimServiceApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .bannerMode(Banner.Mode.OFF)
+                .run(
+                        configLocation(ClaimServiceApplication.class),
+                        "--server.port=0",
+                        temporalAddress,
+                        "--spring.datasource.url=jdbc:h2:mem:load-test;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--claim.policy.node-id=1",
+                        "--management.metrics.use-global-registry=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.ycompany=WARN",
+                        "--logging.level.com.ycompany.loadtest=INFO",
+                        "--logging.level.org.hibernate.orm.deprecation=ERROR");
+        claimServiceUrl = URI.create("http://localhost:" + port(claimService));
+
+        workflowManager = new SpringApplicationBuilder(WorkflowManagerApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .bannerMode(Banner.Mode.OFF)
+                .run(
+                        configLocation(WorkflowManagerApplication.class),
+                        "--server.port=0",
+                        temporalAddress,
+                        "--spring.cloud.discovery.client.simple.instances.claim-service[0].uri=" + claimServiceUrl,
+                        // Claim Service's JPA stack is on the shared classpath; Workflow Manager has no database
+                        "--spring.autoconfigure.exclude="
+                                + "org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration,"
+                                + "org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration",
+                        "--management.metrics.use-global-registry=false",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.ycompany=WARN",
+                        "--logging.level.com.ycompany.loadtest=INFO");
+        workflowManagerUrl = URI.create("http://localhost:" + port(workflowManager));
+    }
+
+    public URI getClaimServiceUrl() {
+        return claimServiceUrl;
+    }
+
+    public URI getWorkflowManagerUrl() {
+        return workflowManagerUrl;
+    }
+
+    /**
+     * Both services ship an application.yml at the root of their jar, so each
+     * context is pointed at the one next to its own application class.
+     */
+    private static String configLocation(Class<?> application) {
+        URL codeSource = application.getProtectionDomain().getCodeSource().getLocation();
+        String location = codeSource.toString();
+        if (location.endsWith(".jar")) {
+            location = "jar:" + location + "!/";
+        }
+        return "--spring.config.location=" + location + "application.yml";
+    }
+
+    private static int port(ConfigurableApplicationContext context) {
+        return ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    private static int freePort() {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        workflowManager.close();
+        claimService.close();
+        temporal.close();
+    }
+}
@@ -0,0 +1,130 @@
+package com.ycompany.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Throughput and latency percentiles per endpoint, plus whole sessions, over
+ * the measured phase of a run.
+ */
+public class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final LoadTestSettings settings;
+    private final long sessionsStarted;
+    private final long sessionsDropped;
+    private final long sessionsAbandoned;
+    private final EndpointStats sessions;
+    private final List<EndpointStats> endpoints;
+
+    public LoadReport(LoadTestSettings settings, long sessionsStarted, long sessionsDropped, long sessionsAbandoned,
+                      EndpointStats sessions, Collection<EndpointStats> endpoints) {
+        this.settings = settings;
+        this.sessionsStarted = sessionsStarted;
+        this.sessionsDropped = sessionsDropped;
+        this.sessionsAbandoned = sessionsAbandoned;
+        this.sessions = sessions;
+        this.endpoints = new ArrayList<>(endpoints);
+    }
+
+    private double throughput(EndpointStats stats) {
+        return stats.getSuccesses() / (settings.getDuration().toMillis() / 1000.0);
+    }
+
+    public String toTable() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%n%s sessions/s for %s (after %s warmup): %d sessions started, %d completed, %d failed, %d dropped, %d abandoned%n%n",
+                settings.getRate(), settings.getDuration(), settings.getWarmup(), sessionsStarted,
+                sessions.getSuccesses(), sessions.getErrors(), sessionsDropped, sessionsAbandoned));
+        table.append(String.format("%-34s %8s %7s %8s %9s %9s %9s %9s %9s%n",
+                "Endpoint", "OK", "Errors", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms"));
+        for (EndpointStats stats : endpoints) {
+            appendRow(table, stats);
+        }
+        appendRow(table, sessions);
+        for (EndpointStats stats : endpoints) {
+            if (stats.getErrors() > 0) {
+                table.append(String.format("%nErrors for %s: %s", stats.getName(), stats.getErrorsByKind()));
+            }
+        }
+        return table.toString();
+    }
+
+    private void appendRow(StringBuilder table, EndpointStats stats) {
+        table.append(String.format("%-34s %8d %7d %8.1f", stats.getName(), stats.getSuccesses(), stats.getErrors(), throughput(stats)));
+        for (double percentile : PERCENTILES) {
+            table.append(String.format(" %9.1f", stats.percentileMillis(percentile)));
+        }
+        table.append(String.format(" %9.1f%n", stats.maxMillis()));
+    }
+
+    public void writeJson(Path file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings.toMap());
+        Map<String, Object> sessionCounts = new LinkedHashMap<>();
+        sessionCounts.put("started", sessionsStarted);
+        sessionCounts.put("dropped", sessionsDropped);
+        sessionCounts.put("abandoned", sessionsAbandoned);
+        sessionCounts.putAll(toMap(sessions));
+        report.put("sessions", sessionCounts);
+        List<Map<String, Object>> endpointReports = new ArrayList<>();
+        for (EndpointStats stats : endpoints) {
+            endpointReports.add(toMap(stats));
+        }
+        report.put("endpoints", endpointReports);
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    private Map<String, Object> toMap(EndpointStats stats) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("name", stats.getName());
+        map.put("ok", stats.getSuccesses());
+        map.put("errors", stats.getErrorsByKind());
+        map.put("throughput", throughput(stats));
+        Map<String, Object> latency = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            latency.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                    stats.percentileMillis(percentile));
+        }
+        latency.put("max", stats.maxMillis());
+        map.put("latencyMs", latency);
+        return map;
+    }
+
+    /**
+     * Threshold violations (max-p99, max-error-rate); empty when the run passes.
+     */
+    public List<String> violations() {
+        List<String> violations = new ArrayList<>();
+        for (EndpointStats stats : endpoints) {
+            if (settings.getMaxP99() != null && stats.percentileMillis(99) > settings.getMaxP99().toMillis()) {
+                violations.add(String.format("%s p99 %.1f ms exceeds %d ms",
+                        stats.getName(), stats.percentileMillis(99), settings.getMaxP99().toMillis()));
+            }
+            if (settings.getMaxErrorRate() != null && stats.getErrorRate() > settings.getMaxErrorRate()) {
+                violations.add(String.format("%s error rate %.4f exceeds %s",
+                        stats.getName(), stats.getErrorRate(), settings.getMaxErrorRate()));
+            }
+        }
+        if (settings.getMaxErrorRate() != null && sessionsStarted > 0
+                && (double) sessionsDropped / sessionsStarted > settings.getMaxErrorRate()) {
+            violations.add(String.format("%d of %d sessions dropped at max-sessions", sessionsDropped, sessionsStarted));
+        }
+        return violations;
+    }
+}
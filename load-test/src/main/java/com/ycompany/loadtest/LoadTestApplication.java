@@ -0,0 +1,33 @@
+package com.ycompany.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Starts the services in-process (see {@link InProcessServices}), drives
+ * open-loop claim traffic at them and reports throughput and latency
+ * percentiles per endpoint. Exits with status 1 when a max-p99 or
+ * max-error-rate threshold is exceeded.
+ */
+public class LoadTestApplication {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTestApplication.class);
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        List<String> violations;
+        try (InProcessServices services = new InProcessServices()) {
+            logger.info("Claim Service at {}, Workflow Manager at {}", services.getClaimServiceUrl(), services.getWorkflowManagerUrl());
+            LoadReport report = new OpenLoopDriver(settings, services.getClaimServiceUrl(), services.getWorkflowManagerUrl()).run();
+            System.out.println(report.toTable());
+            report.writeJson(settings.getReport());
+            logger.info("Report written to {}", settings.getReport().toAbsolutePath());
+            violations = report.violations();
+        }
+        violations.forEach(violation -> logger.error("Threshold exceeded: {}", violation));
+        // Temporal and Netty leave non-daemon threads behind
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ycompany.loadtest;
+
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.core.convert.support.ConfigurableConversionService;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Load test options, given as {@code --name=value} arguments. Durations take
+ * the usual Spring Boot forms (500ms, 30s, 5m).
+ */
+public class LoadTestSettings {
+
+    /** New claim sessions per second, arriving as a Poisson process. */
+    private final double rate;
+    /** Measured phase, after the warmup. */
+    private final Duration duration;
+    /** Load runs but is not recorded. */
+    private final Duration warmup;
+    /** Pause between the steps of one session. */
+    private final Duration thinkTime;
+    private final int commentsPerClaim;
+    /** Share of approvals that reject the claim. */
+    private final double rejectShare;
+    private final Duration requestTimeout;
+    /** Sessions in flight above which new arrivals are dropped (and reported) instead of sent. */
+    private final int maxSessions;
+    /** Time in-flight sessions get to finish once arrivals stop. */
+    private final Duration drainTimeout;
+    private final Path report;
+    /** Fail the run if any endpoint's p99 exceeds this; unset: no check. */
+    private final Duration maxP99;
+    /** Fail the run if any endpoint's error share exceeds this; unset: no check. */
+    private final Double maxErrorRate;
+
+    private LoadTestSettings(StandardEnvironment env) {
+        this.rate = env.getProperty("rate", Double.class, 10.0);
+        this.duration = env.getProperty("duration", Duration.class, Duration.ofSeconds(60));
+        this.warmup = env.getProperty("warmup", Duration.class, Duration.ofSeconds(15));
+        this.thinkTime = env.getProperty("think-time", Duration.class, Duration.ofSeconds(1));
+        this.commentsPerClaim = env.getProperty("comments", Integer.class, 2);
+        this.rejectShare = env.getProperty("reject-share", Double.class, 0.2);
+        this.requestTimeout = env.getProperty("request-timeout", Duration.class, Duration.ofSeconds(30));
+        this.maxSessions = env.getProperty("max-sessions", Integer.class, 10000);
+        this.drainTimeout = env.getProperty("drain-timeout", Duration.class, Duration.ofSeconds(60));
+        this.report = Path.of(env.getProperty("report", "load-test-report.json"));
+        this.maxP99 = env.getProperty("max-p99", Duration.class);
+        this.maxErrorRate = env.getProperty("max-error-rate", Double.class);
+        if (rate <= 0) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+    }
+
+    public static LoadTestSettings parse(String[] args) {
+        StandardEnvironment env = new StandardEnvironment();
+        env.setConversionService((ConfigurableConversionService) ApplicationConversionService.getSharedInstance());
+        env.getPropertySources().addFirst(new SimpleCommandLinePropertySource(args));
+        return new LoadTestSettings(env);
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    public int getCommentsPerClaim() {
+        return commentsPerClaim;
+    }
+
+    public double getRejectShare() {
+        return rejectShare;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public int getMaxSessions() {
+        return maxSessions;
+    }
+
+    public Duration getDrainTimeout() {
+        return drainTimeout;
+    }
+
+    public Path getReport() {
+        return report;
+    }
+
+    public Duration getMaxP99() {
+        return maxP99;
+    }
+
+    public Double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("rate", rate);
+        map.put("duration", duration.toString());
+        map.put("warmup", warmup.toString());
+        map.put("thinkTime", thinkTime.toString());
+        map.put("comments", commentsPerClaim);
+        map.put("rejectShare", rejectShare);
+        map.put("requestTimeout", requestTimeout.toString());
+        map.put("maxSessions", maxSessions);
+        return map;
+    }
+}
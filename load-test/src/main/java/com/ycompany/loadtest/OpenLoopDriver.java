@@ -0,0 +1,292 @@
+package com.ycompany.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ycompany.common.dto.ApprovalRequestDTO;
+import com.ycompany.common.dto.ClaimDTO;
+import com.ycompany.common.dto.CommentDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-loop claim traffic: sessions arrive as a Poisson process at the
+ * configured rate whether or not earlier ones have finished, and each
+ * session runs create, comments, supervisor assignment, a supervisor read
+ * and the approval decision, with the think time between steps.
+ */
+public class OpenLoopDriver {
+
+    private static final Logger logger = LoggerFactory.getLogger(OpenLoopDriver.class);
+
+    static final String CREATE_CLAIM = "POST /claims";
+    static final String ADD_COMMENT = "POST /claims/{id}/comments";
+    static final String ASSIGN_SUPERVISOR = "POST /workflow/claims/{id}/assign";
+    static final String GET_CLAIM_DETAILS = "GET /workflow/claims/{id}";
+    static final String APPROVE_CLAIM = "POST /workflow/approve";
+
+    private static final String[] CLAIM_TYPES = {"Auto", "Home", "Health", "Travel"};
+    private static final Duration PROGRESS_INTERVAL = Duration.ofSeconds(10);
+
+    private final LoadTestSettings settings;
+    private final URI claimServiceUrl;
+    private final URI workflowManagerUrl;
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final ExecutorService workers = Executors.newCachedThreadPool();
+    private final HttpClient http;
+
+    private final Map<String, EndpointStats> endpoints = new LinkedHashMap<>();
+    private final EndpointStats sessions = new EndpointStats("session");
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong sessionIds = new AtomicLong();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public OpenLoopDriver(LoadTestSettings settings, URI claimServiceUrl, URI workflowManagerUrl) {
+        this.settings = settings;
+        this.claimServiceUrl = claimServiceUrl;
+        this.workflowManagerUrl = workflowManagerUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(workers)
+                .build();
+        for (String endpoint : new String[]{CREATE_CLAIM, ADD_COMMENT, ASSIGN_SUPERVISOR, GET_CLAIM_DETAILS, APPROVE_CLAIM}) {
+            endpoints.put(endpoint, new EndpointStats(endpoint));
+        }
+    }
+
+    /**
+     * Runs the warmup and the measured phase, then waits up to the drain
+     * timeout for sessions still in flight. Only sessions arriving in the
+     * measured phase are recorded.
+     */
+    public LoadReport run() throws InterruptedException {
+        SplittableRandom random = new SplittableRandom();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.getWarmup().toNanos();
+        long end = measureFrom + settings.getDuration().toNanos();
+        long nextProgress = start + PROGRESS_INTERVAL.toNanos();
+
+        long arrival = start;
+        while (arrival < end) {
+            long wait;
+            while ((wait = arrival - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            startSession(arrival, arrival >= measureFrom);
+            // Exponential inter-arrival times
+            arrival += (long) (-Math.log(1.0 - random.nextDouble()) / settings.getRate() * 1_000_000_000L);
+            if (System.nanoTime() >= nextProgress) {
+                logProgress(start, measureFrom);
+                nextProgress += PROGRESS_INTERVAL.toNanos();
+            }
+        }
+
+        long drainDeadline = System.nanoTime() + settings.getDrainTimeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(100);
+        }
+        int abandoned = inFlight.get();
+        if (abandoned > 0) {
+            logger.warn("{} sessions still in flight after the drain timeout", abandoned);
+        }
+        workers.shutdownNow();
+        return new LoadReport(settings, started.sum(), dropped.sum(), abandoned, sessions, endpoints.values());
+    }
+
+    private void logProgress(long start, long measureFrom) {
+        long now = System.nanoTime();
+        logger.info("{}s {}: {} sessions in flight, {} measured sessions started, {} completed, {} dropped",
+                TimeUnit.NANOSECONDS.toSeconds(now - start),
+                now < measureFrom ? "warmup" : "measuring",
+                inFlight.get(), started.sum(), sessions.getSuccesses(), dropped.sum());
+    }
+
+    private void startSession(long arrival, boolean measured) {
+        if (inFlight.get() >= settings.getMaxSessions()) {
+            if (measured) {
+                dropped.increment();
+            }
+            return;
+        }
+        inFlight.incrementAndGet();
+        if (measured) {
+            started.increment();
+        }
+        Session session = new Session(sessionIds.incrementAndGet(), measured);
+
+        CompletableFuture<?> steps = send(session, CREATE_CLAIM, arrival, createClaimRequest(session))
+                .thenAccept(body -> session.claimId = read(body, ClaimDTO.class).getId());
+        for (int i = 0; i < settings.getCommentsPerClaim(); i++) {
+            int comment = i;
+            steps = steps.thenCompose(previous -> afterThinkTime(session, ADD_COMMENT,
+                    () -> addCommentRequest(session, comment)));
+        }
+        steps.thenCompose(previous -> afterThinkTime(session, ASSIGN_SUPERVISOR, () -> assignRequest(session)))
+                .thenCompose(previous -> afterThinkTime(session, GET_CLAIM_DETAILS, () -> detailsRequest(session)))
+                .thenCompose(previous -> afterThinkTime(session, APPROVE_CLAIM, () -> approveRequest(session)))
+                .whenComplete((body, error) -> {
+                    if (measured && error == null) {
+                        sessions.success(arrival, System.nanoTime());
+                    } else if (measured) {
+                        sessions.error("failed");
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+
+    /**
+     * Sends the next request of a session once the think time has passed;
+     * its latency is measured from the end of the think time.
+     */
+    private CompletableFuture<byte[]> afterThinkTime(Session session, String endpoint, Supplier<HttpRequest> request) {
+        long thinkNanos = settings.getThinkTime().toNanos();
+        long intendedStart = System.nanoTime() + thinkNanos;
+        return CompletableFuture.supplyAsync(request, CompletableFuture.delayedExecutor(thinkNanos, TimeUnit.NANOSECONDS, workers))
+                .thenCompose(httpRequest -> send(session, endpoint, intendedStart, httpRequest));
+    }
+
+    private CompletableFuture<byte[]> send(Session session, String endpoint, long intendedStart, HttpRequest request) {
+        EndpointStats stats = endpoints.get(endpoint);
+        return http.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .handle((response, error) -> {
+                    long end = System.nanoTime();
+                    if (error != null) {
+                        if (session.measured) {
+                            stats.error(errorKind(error));
+                        }
+                        throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                    }
+                    if (response.statusCode() / 100 != 2) {
+                        if (session.measured) {
+                            stats.error(String.valueOf(response.statusCode()));
+                        }
+                        if (logger.isDebugEnabled()) {
+                            logger.debug("{} for session {} returned {}: {}", endpoint, session.id,
+                                    response.statusCode(), new String(response.body()));
+                        }
+                        throw new CompletionException(new IllegalStateException(endpoint + " returned " + response.statusCode()));
+                    }
+                    if (session.measured) {
+                        stats.success(intendedStart, end);
+                    }
+                    return response.body();
+                });
+    }
+
+    private static String errorKind(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HttpTimeoutException) {
+            return "timeout";
+        }
+        if (cause instanceof ConnectException) {
+            return "connect";
+        }
+        if (cause instanceof IOException) {
+            return "io";
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+    private HttpRequest createClaimRequest(Session session) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        ClaimDTO claim = new ClaimDTO();
+        claim.setCustomerId(String.format("LOAD%04d", session.id % 1000));
+        claim.setPolicyNumber("POL-LOAD-" + session.id);
+        claim.setClaimType(CLAIM_TYPES[random.nextInt(CLAIM_TYPES.length)]);
+        claim.setDescription("Load test claim " + session.id);
+        claim.setClaimAmount(Math.round(random.nextDouble(100.0, 50_000.0) * 100) / 100.0);
+        return post(claimServiceUrl.resolve("/claims"), claim);
+    }
+
+    private HttpRequest addCommentRequest(Session session, int comment) {
+        CommentDTO dto = new CommentDTO();
+        dto.setText("Load test comment " + comment + " on claim " + session.claimId);
+        dto.setAuthorId(session.supervisorId);
+        dto.setAuthorName("Supervisor " + session.supervisorId);
+        return post(claimServiceUrl.resolve("/claims/" + session.claimId + "/comments"), dto);
+    }
+
+    private HttpRequest assignRequest(Session session) {
+        return request(workflowManagerUrl.resolve("/workflow/claims/" + session.claimId + "/assign?supervisorId=" + session.supervisorId))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+
+    private HttpRequest detailsRequest(Session session) {
+        return request(workflowManagerUrl.resolve("/workflow/claims/" + session.claimId)).GET().build();
+    }
+
+    private HttpRequest approveRequest(Session session) {
+        ApprovalRequestDTO approval = new ApprovalRequestDTO();
+        approval.setClaimId(session.claimId);
+        approval.setSupervisorId(session.supervisorId);
+        boolean reject = ThreadLocalRandom.current().nextDouble() < settings.getRejectShare();
+        approval.setDecision(reject ? "REJECTED" : "APPROVED");
+        approval.setComments("Load test decision");
+        return post(workflowManagerUrl.resolve("/workflow/approve"), approval);
+    }
+
+    private HttpRequest post(URI uri, Object body) {
+        try {
+            return request(uri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri)
+                .header("Accept", "application/json")
+                .timeout(settings.getRequestTimeout());
+    }
+
+    private <T> T read(byte[] body, Class<T> type) {
+        try {
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class Session {
+        final long id;
+        final boolean measured;
+        final String supervisorId;
+        volatile Long claimId;
+
+        Session(long id, boolean measured) {
+            this.id = id;
+            this.measured = measured;
+            this.supervisorId = String.format("SUPER%03d", id % 50);
+        }
+    }
+}
@@ -1,15 +1,27 @@
 package com.ycompany.workflow;
 
+import com.ycompany.common.loadbalancer.LeastLoadedLoadBalancerConfiguration;
+import com.ycompany.common.loadbalancer.OutstandingRequestsExchangeFilterFunction;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 
 @SpringBootApplication(scanBasePackages = {"com.ycompany.workflow", "com.ycompany.common"})
 @ComponentScan(basePackages = {"com.ycompany.workflow", "com.ycompany.common"})
+@LoadBalancerClients(defaultConfiguration = LeastLoadedLoadBalancerConfiguration.class)
 public class WorkflowManagerApplication {
     public static void main(String[] args) {
         SpringApplication.run(WorkflowManagerApplication.class, args);
     }
+
+    // Requests in flight per claim-service replica, read by the load balancer
+    @Bean
+    public OutstandingRequestsExchangeFilterFunction outstandingRequests(LoadBalancerClientFactory clientFactory) {
+        return new OutstandingRequestsExchangeFilterFunction(clientFactory);
+    }
 }
 
@@ -2,13 +2,14 @@ package com.ycompany.workflow.controller;
 
 import com.ycompany.common.dto.ApprovalRequestDTO;
 import com.ycompany.common.dto.ClaimDTO;
+import com.ycompany.common.dto.ClaimStatusDTO;
+import com.ycompany.common.dto.SupervisorAssignmentDTO;
 import com.ycompany.workflow.service.WorkflowService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/workflow")
@@ -19,23 +20,23 @@ public class WorkflowController {
     private WorkflowService workflowService;
 
     @GetMapping("/claims/{id}")
-    public ResponseEntity<ClaimDTO> getClaimDetails(@PathVariable Long id) {
-        ClaimDTO claim = workflowService.getClaimDetails(id);
-        return ResponseEntity.ok(claim);
+    public Mono<ResponseEntity<ClaimDTO>> getClaimDetails(@PathVariable Long id) {
+        return workflowService.getClaimDetails(id)
+                .map(ResponseEntity::ok);
     }
 
     @PostMapping("/approve")
-    public ResponseEntity<ClaimDTO> approveClaim(@Valid @RequestBody ApprovalRequestDTO approvalRequest) {
-        ClaimDTO updatedClaim = workflowService.approveClaim(approvalRequest);
-        return ResponseEntity.ok(updatedClaim);
+    public Mono<ResponseEntity<ClaimStatusDTO>> approveClaim(@Valid @RequestBody ApprovalRequestDTO approvalRequest) {
+        return workflowService.approveClaim(approvalRequest)
+                .map(ResponseEntity::ok);
     }
 
     @PostMapping("/claims/{claimId}/assign")
-    public ResponseEntity<ClaimDTO> assignSupervisor(
+    public Mono<ResponseEntity<SupervisorAssignmentDTO>> assignSupervisor(
             @PathVariable Long claimId, 
-            @RequestParam String supervisorId) {
-        ClaimDTO claim = workflowService.assignSupervisor(claimId, supervisorId);
-        return ResponseEntity.ok(claim);
+            @RequestParam String supervisorId,
+            @RequestParam(required = false) Long expectedVersion) {
+        return workflowService.assignSupervisor(claimId, supervisorId, expectedVersion)
+                .map(ResponseEntity::ok);
     }
 }
-
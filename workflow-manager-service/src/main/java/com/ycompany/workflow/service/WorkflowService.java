@@ -1,97 +1,221 @@
 package com.ycompany.workflow.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.ycompany.common.dto.ApprovalRequestDTO;
 import com.ycompany.common.dto.ClaimDTO;
+import com.ycompany.common.dto.ClaimStatusDTO;
+import com.ycompany.common.dto.SupervisorAssignmentDTO;
+import com.ycompany.common.loadbalancer.OutstandingRequestsExchangeFilterFunction;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
 import io.temporal.client.WorkflowClient;
-import io.temporal.client.WorkflowOptions;
-import io.temporal.serviceclient.WorkflowServiceStubs;
-import io.temporal.serviceclient.WorkflowServiceStubsOptions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Optional;
 
 @Service
 public class WorkflowService {
     
-    @Value("${claim.service.url:http://localhost:8081}")
+    // A logical name resolved by the load balancer (spring.cloud.discovery.client.simple.instances)
+    @Value("${claim.service.url:http://claim-service}")
     private String claimServiceUrl;
     
-    @Value("${temporal.server.address:localhost:7233}")
-    private String temporalServerAddress;
+    @Value("${claim.service.max-connections:200}")
+    private int maxConnections;
     
-    private WorkflowServiceStubs service;
+    @Value("${claim.service.pending-acquire-timeout:5s}")
+    private Duration pendingAcquireTimeout;
+    
+    @Value("${claim.service.max-idle-time:30s}")
+    private Duration maxIdleTime;
+    
+    @Value("${claim.service.connect-timeout:2s}")
+    private Duration connectTimeout;
+    
+    @Value("${claim.service.call-timeout:5s}")
+    private Duration callTimeout;
+    
+    @Value("${claim.service.claim-cache-size:10000}")
+    private long claimCacheSize;
+    
+    @Value("${temporal.client.rpc-timeout:10s}")
+    private Duration signalTimeout;
+    
+    @Autowired
     private WorkflowClient client;
+    
+    @Autowired
+    private ReactorLoadBalancerExchangeFilterFunction loadBalancer;
+    
+    @Autowired
+    private OutstandingRequestsExchangeFilterFunction outstandingRequests;
+    
+    // Boot's builder records every call as http.client.requests{client.name,uri,status}
+    @Autowired
+    private WebClient.Builder webClientBuilder;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    private ConnectionProvider connectionProvider;
     private WebClient webClient;
+    private Cache<Long, CachedClaim> claimCache;
 
     @PostConstruct
     public void init() {
-        service = WorkflowServiceStubs.newServiceStubs(
-            WorkflowServiceStubsOptions.newBuilder()
-                .setTarget(temporalServerAddress)
-                .build()
-        );
-        client = WorkflowClient.newInstance(service);
-        webClient = WebClient.builder()
+        connectionProvider = ConnectionProvider.builder("claim-service")
+                .maxConnections(maxConnections)
+                .pendingAcquireTimeout(pendingAcquireTimeout)
+                .maxIdleTime(maxIdleTime)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(callTimeout);
+        webClient = webClientBuilder
                 .baseUrl(claimServiceUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .filter(loadBalancer)
+                .filter(outstandingRequests)
+                .build();
+        claimCache = Caffeine.newBuilder()
+                .maximumSize(claimCacheSize)
                 .build();
     }
 
-    public ClaimDTO getClaimDetails(Long claimId) {
-        return webClient.get()
+    /**
+     * Reads a claim, revalidating the last copy seen with If-None-Match so an
+     * unchanged claim costs a bodiless 304 instead of a full download.
+     */
+    public Mono<ClaimDTO> getClaimDetails(Long claimId) {
+        CachedClaim cached = claimCache.getIfPresent(claimId);
+        return timed("getClaimDetails", webClient.get()
                 .uri("/claims/{id}", claimId)
+                .headers(headers -> {
+                    if (cached != null) {
+                        headers.setIfNoneMatch(cached.eTag);
+                    }
+                })
                 .retrieve()
-                .bodyToMono(ClaimDTO.class)
-                .block();
+                .toEntity(ClaimDTO.class)
+                .timeout(callTimeout)
+                .flatMap(response -> {
+                    if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value() && cached != null) {
+                        return Mono.just(cached.claim);
+                    }
+                    ClaimDTO claim = response.getBody();
+                    String eTag = response.getHeaders().getETag();
+                    if (claim != null && eTag != null) {
+                        claimCache.put(claimId, new CachedClaim(eTag, claim));
+                    }
+                    return Mono.justOrEmpty(claim);
+                }));
     }
 
-    public ClaimDTO approveClaim(ApprovalRequestDTO approvalRequest) {
-        // Signal the Temporal workflow
-        ClaimWorkflow workflow = client.newWorkflowStub(
-            ClaimWorkflow.class,
-            "claim-workflow-" + approvalRequest.getClaimId()
-        );
-        
-        workflow.approveClaim(approvalRequest.getClaimId(), 
-                            approvalRequest.getSupervisorId(), 
-                            approvalRequest.getDecision(),
-                            approvalRequest.getComments());
+    /**
+     * Updates the claim status in Claim Service, then signals the Temporal
+     * workflow. The signal is only sent once the status change is accepted, so
+     * a decision that loses the race (409) never reaches the workflow. The
+     * Temporal client is blocking, so the signal runs on the bounded elastic
+     * scheduler rather than an event-loop thread.
+     */
+    public Mono<ClaimStatusDTO> approveClaim(ApprovalRequestDTO approvalRequest) {
+        Mono<Void> signal = Mono.<Void>fromRunnable(() -> {
+                    ClaimWorkflow workflow = client.newWorkflowStub(
+                        ClaimWorkflow.class,
+                        "claim-workflow-" + approvalRequest.getClaimId()
+                    );
+                    workflow.approveClaim(approvalRequest.getClaimId(), 
+                                        approvalRequest.getSupervisorId(), 
+                                        approvalRequest.getDecision(),
+                                        approvalRequest.getComments());
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .timeout(signalTimeout);
         
         // Update claim status via Claim Service
         String status = "APPROVED".equals(approvalRequest.getDecision()) ? "APPROVED" : "REJECTED";
         
-        return webClient.patch()
+        Mono<ClaimStatusDTO> statusUpdate = webClient.patch()
                 .uri("/claims/{id}/status?status={status}", 
                      approvalRequest.getClaimId(), status)
                 .retrieve()
-                .bodyToMono(ClaimDTO.class)
-                .block();
+                .onStatus(code -> code.value() == HttpStatus.CONFLICT.value(),
+                        response -> Mono.error(new ResponseStatusException(HttpStatus.CONFLICT,
+                                "Claim " + approvalRequest.getClaimId() + " has already been decided")))
+                .bodyToMono(ClaimStatusDTO.class)
+                .timeout(callTimeout);
+        
+        return timed("approveClaim", statusUpdate.flatMap(updated -> signal.thenReturn(updated)));
     }
 
-    public ClaimDTO assignSupervisor(Long claimId, String supervisorId) {
-        ClaimDTO claim = getClaimDetails(claimId);
-        claim.setSupervisorId(supervisorId);
-        
-        return webClient.put()
-                .uri("/claims/{id}", claimId)
-                .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(claim)
+    /**
+     * One targeted PATCH to Claim Service. A 409 from a stale
+     * {@code expectedVersion} is passed through to the caller.
+     */
+    public Mono<SupervisorAssignmentDTO> assignSupervisor(Long claimId, String supervisorId, Long expectedVersion) {
+        return timed("assignSupervisor", webClient.patch()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/claims/{id}/supervisor")
+                        .queryParam("supervisorId", supervisorId)
+                        .queryParamIfPresent("expectedVersion", Optional.ofNullable(expectedVersion))
+                        .build(claimId))
                 .retrieve()
-                .bodyToMono(ClaimDTO.class)
-                .block();
+                .onStatus(status -> status.value() == HttpStatus.CONFLICT.value(),
+                        response -> Mono.error(new ResponseStatusException(HttpStatus.CONFLICT,
+                                "Claim " + claimId + " was modified concurrently")))
+                .bodyToMono(SupervisorAssignmentDTO.class)
+                .timeout(callTimeout));
+    }
+
+    /**
+     * Times a call from subscription until it completes, fails or is
+     * cancelled, as workflow.service{method,outcome}.
+     */
+    private <T> Mono<T> timed(String method, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call.doFinally(signal -> sample.stop(Timer.builder("workflow.service")
+                    .description("WorkflowService calls, including the downstream Claim Service and Temporal calls")
+                    .tag("method", method)
+                    .tag("outcome", signal == SignalType.ON_COMPLETE ? "success"
+                            : signal == SignalType.ON_ERROR ? "error" : "cancelled")
+                    .publishPercentiles(0.5, 0.99)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)));
+        });
     }
 
     @PreDestroy
     public void cleanup() {
-        if (service != null) {
-            service.shutdown();
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
         }
     }
-}
 
+    private static class CachedClaim {
+        private final String eTag;
+        private final ClaimDTO claim;
+
+        CachedClaim(String eTag, ClaimDTO claim) {
+            this.eTag = eTag;
+            this.claim = claim;
+        }
+    }
+}